@@ -0,0 +1,60 @@
+package de.habermehl.aventofcode.aoc2023.day01;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.habermehl.aventofcode.aoc2023.Answers;
+import de.habermehl.aventofcode.aoc2023.Utils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class Day1Benchmark {
+    private List<String> inputLines;
+    private Day1 day;
+
+    @Setup
+    public void setup() throws IOException {
+        inputLines = Utils.getInput("aoc2023/day01/input");
+        day = new Day1(inputLines);
+        Answers answers = Day1.solve(inputLines.stream());
+        if (answers.part1() != day.getPart1() || answers.part2() != day.getPart2()) {
+            throw new IllegalStateException("single pass answers " + answers + " differ from " + day.getPart1() + " / " + day.getPart2());
+        }
+    }
+
+    @Benchmark
+    public Day1 parse() {
+        return new Day1(inputLines);
+    }
+
+    @Benchmark
+    public long part1() {
+        return day.getPart1();
+    }
+
+    @Benchmark
+    public long part2() {
+        return day.getPart2();
+    }
+
+    @Benchmark
+    public Answers singlePass() {
+        return Day1.solve(inputLines.stream());
+    }
+}
@@ -0,0 +1,50 @@
+package de.habermehl.aventofcode.aoc2023.day03;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.habermehl.aventofcode.aoc2023.Utils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class Day3Benchmark {
+    private List<String> inputLines;
+    private Day3 day;
+
+    @Setup
+    public void setup() throws IOException {
+        inputLines = Utils.getInput("aoc2023/day03/input");
+        day = new Day3(inputLines);
+    }
+
+    @Benchmark
+    public Day3 parse() {
+        return new Day3(inputLines);
+    }
+
+    @Benchmark
+    public long part1() {
+        return day.getPart1();
+    }
+
+    @Benchmark
+    public long part2() {
+        return day.getPart2();
+    }
+}
@@ -0,0 +1,59 @@
+package de.habermehl.aventofcode.aoc2023.day23;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.habermehl.aventofcode.aoc2023.ByteInput;
+import de.habermehl.aventofcode.aoc2023.DenseGrid;
+import de.habermehl.aventofcode.aoc2023.Utils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class Day23Benchmark {
+    private List<String> inputLines;
+    private ByteInput inputBytes;
+    private Day23 day;
+
+    @Setup
+    public void setup() throws IOException {
+        inputLines = Utils.getInput("aoc2023/day23/input");
+        day = new Day23(inputLines);
+        inputBytes = Utils.getInputBytes("aoc2023/day23/input");
+    }
+
+    @Benchmark
+    public Day23 parse() {
+        return new Day23(inputLines);
+    }
+
+    @Benchmark
+    public Day23 parseBytes() {
+        return new Day23(DenseGrid.ofDirect(inputBytes));
+    }
+
+    @Benchmark
+    public long part1() {
+        return day.getPart1();
+    }
+
+    @Benchmark
+    public long part2() {
+        return day.getPart2();
+    }
+}
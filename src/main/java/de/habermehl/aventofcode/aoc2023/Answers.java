@@ -0,0 +1,7 @@
+package de.habermehl.aventofcode.aoc2023;
+
+/**
+ * the answers to both parts of a puzzle, for solvers computing them together
+ */
+public record Answers(long part1, long part2) {
+}
@@ -0,0 +1,57 @@
+package de.habermehl.aventofcode.aoc2023;
+
+/**
+ * forward-only cursor over {@link ByteInput}, the token methods work on the current line without
+ * creating strings. {@link #nextLine()} moves on to the next line.
+ */
+public final class ByteCursor extends TokenScanner {
+    private final ByteInput input;
+    private long position;
+
+    ByteCursor(ByteInput input) {
+        this.input = input;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    public boolean hasRemaining() {
+        return position < input.size();
+    }
+
+    /**
+     * @return the amount of bytes from the cursor to the end of the current line, without its line break
+     */
+    public int lineLength() {
+        int length = 0;
+        while (peek(length) != END) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * moves the cursor to the start of the next line
+     */
+    public void nextLine() {
+        while (hasRemaining() && input.get(position++) != '\n') {
+            // skip the rest of the current line
+        }
+    }
+
+    @Override
+    protected int peek(int offset) {
+        long index = position + offset;
+        if (index >= input.size()) {
+            return END;
+        }
+        int b = input.get(index) & 0xFF;
+        return b == '\n' || b == '\r' ? END : b;
+    }
+
+    @Override
+    protected void advance(int count) {
+        position += count;
+    }
+}
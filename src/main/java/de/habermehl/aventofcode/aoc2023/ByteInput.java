@@ -0,0 +1,67 @@
+package de.habermehl.aventofcode.aoc2023;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * raw input bytes, either memory-mapped from a file or backed by a byte array. both are split into
+ * segments of 1 GB.
+ */
+public final class ByteInput {
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private final ByteBuffer[] segments;
+    private final long size;
+
+    private ByteInput(ByteBuffer[] segments, long size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    public static ByteInput of(byte[] bytes) {
+        ByteBuffer[] segments = new ByteBuffer[getSegmentCount(bytes.length)];
+        for (int i = 0; i < segments.length; i++) {
+            int start = i << SEGMENT_BITS;
+            // slice, so that the segment starts at index 0 like a mapped one
+            segments[i] = ByteBuffer.wrap(bytes, start, (int) getSegmentLength(bytes.length, start)).slice();
+        }
+        return new ByteInput(segments, bytes.length);
+    }
+
+    public static ByteInput map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer[] segments = new ByteBuffer[getSegmentCount(size)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i << SEGMENT_BITS;
+                segments[i] = channel.map(MapMode.READ_ONLY, start, getSegmentLength(size, start));
+            }
+            return new ByteInput(segments, size);
+        }
+    }
+
+    private static int getSegmentCount(long size) {
+        return (int) Math.max(1, (size + SEGMENT_MASK) >>> SEGMENT_BITS);
+    }
+
+    private static long getSegmentLength(long size, long start) {
+        return Math.min(SEGMENT_MASK + 1, size - start);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public byte get(long position) {
+        return segments[(int) (position >>> SEGMENT_BITS)].get((int) (position & SEGMENT_MASK));
+    }
+
+    public ByteCursor cursor() {
+        return new ByteCursor(this);
+    }
+}
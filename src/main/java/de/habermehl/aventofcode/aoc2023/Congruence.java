@@ -0,0 +1,48 @@
+package de.habermehl.aventofcode.aoc2023;
+
+import java.math.BigInteger;
+import java.util.Optional;
+
+/**
+ * all numbers n with n mod modulus == remainder, e.g. the iterations at which a periodic signal occurs
+ */
+public record Congruence(long remainder, long modulus) {
+    public static final Congruence ALL = new Congruence(0, 1);
+
+    public Congruence {
+        if (modulus <= 0) {
+            throw new IllegalArgumentException("modulus must be positive: " + modulus);
+        }
+        remainder = Math.floorMod(remainder, modulus);
+    }
+
+    /**
+     * chinese remainder theorem, the moduli don't need to be coprime
+     *
+     * @return the numbers within both congruences, empty if there are none
+     */
+    public Optional<Congruence> combine(Congruence other) {
+        BigInteger modulus1 = BigInteger.valueOf(modulus);
+        BigInteger modulus2 = BigInteger.valueOf(other.modulus);
+        BigInteger gcd = modulus1.gcd(modulus2);
+        BigInteger difference = BigInteger.valueOf(other.remainder - remainder);
+        if (difference.mod(gcd).signum() != 0) {
+            return Optional.empty();
+        }
+        BigInteger reducedModulus2 = modulus2.divide(gcd);
+        BigInteger factor = difference.divide(gcd)
+                .multiply(modulus1.divide(gcd).modInverse(reducedModulus2))
+                .mod(reducedModulus2);
+        BigInteger combinedModulus = modulus1.multiply(reducedModulus2);
+        return Optional.of(new Congruence(
+                BigInteger.valueOf(remainder).add(modulus1.multiply(factor)).longValueExact(),
+                combinedModulus.longValueExact()));
+    }
+
+    /**
+     * @return the smallest number within the congruence that is not less than the given one
+     */
+    public long firstAtLeast(long minimum) {
+        return minimum + Math.floorMod(remainder - minimum, modulus);
+    }
+}
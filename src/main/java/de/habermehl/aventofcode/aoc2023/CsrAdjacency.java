@@ -0,0 +1,141 @@
+package de.habermehl.aventofcode.aoc2023;
+
+import java.util.Arrays;
+
+import de.habermehl.aventofcode.aoc2023.graph.Graph;
+
+/**
+ * directed adjacency in compressed sparse row form: the edges of node n are the indexes from
+ * {@link #firstEdge(int) firstEdge(n)} (inclusive) to {@link #endEdge(int) endEdge(n)} (exclusive), in the
+ * order they were added. weights are optional, unweighted edges have the weight 1.
+ */
+public final class CsrAdjacency implements Graph {
+    private final int[] offsets;
+    private final int[] targets;
+    private final long[] weights;
+
+    private CsrAdjacency(int[] offsets, int[] targets, long[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public static Builder builder(int nodeCount) {
+        return new Builder(nodeCount);
+    }
+
+    @Override
+    public int nodeCount() {
+        return offsets.length - 1;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public int firstEdge(int node) {
+        return offsets[node];
+    }
+
+    public int endEdge(int node) {
+        return offsets[node + 1];
+    }
+
+    public int degree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    public long weight(int edge) {
+        return weights == null ? 1 : weights[edge];
+    }
+
+    @Override
+    public void forEachEdge(int node, EdgeConsumer consumer) {
+        for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+            consumer.accept(targets[edge], Math.toIntExact(weight(edge)));
+        }
+    }
+
+    /**
+     * @return the same edges pointing the other way
+     */
+    public CsrAdjacency transposed() {
+        Builder result = new Builder(nodeCount());
+        for (int node = 0; node < nodeCount(); node++) {
+            for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+                result.add(targets[edge], node, weight(edge));
+            }
+        }
+        return weights == null ? result.buildUnweighted() : result.build();
+    }
+
+    /**
+     * collects an edge list, which is sorted into rows by a single counting pass when building
+     */
+    public static final class Builder {
+        private final int nodeCount;
+        private int[] sources = new int[16];
+        private int[] targets = new int[16];
+        private long[] weights = new long[16];
+        private int size;
+
+        private Builder(int nodeCount) {
+            this.nodeCount = nodeCount;
+        }
+
+        public Builder add(int source, int target) {
+            return add(source, target, 1);
+        }
+
+        public Builder add(int source, int target, long weight) {
+            if (source < 0 || source >= nodeCount || target < 0 || target >= nodeCount) {
+                throw new IndexOutOfBoundsException("edge " + source + " -> " + target + " outside of " + nodeCount + " nodes");
+            }
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            weights[size++] = weight;
+            return this;
+        }
+
+        public CsrAdjacency build() {
+            return build(true);
+        }
+
+        /**
+         * drops the weights, all edges get the weight 1
+         */
+        public CsrAdjacency buildUnweighted() {
+            return build(false);
+        }
+
+        private CsrAdjacency build(boolean weighted) {
+            int[] offsets = new int[nodeCount + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int node = 0; node < nodeCount; node++) {
+                offsets[node + 1] += offsets[node];
+            }
+            int[] next = Arrays.copyOf(offsets, nodeCount);
+            int[] sortedTargets = new int[size];
+            long[] sortedWeights = weighted ? new long[size] : null;
+            for (int i = 0; i < size; i++) {
+                int edge = next[sources[i]]++;
+                sortedTargets[edge] = targets[i];
+                if (weighted) {
+                    sortedWeights[edge] = weights[i];
+                }
+            }
+            return new CsrAdjacency(offsets, sortedTargets, sortedWeights);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package de.habermehl.aventofcode.aoc2023;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * the states of an iterated simulation up to the end of its first cycle: the state of iteration
+ * start + length equals the state of iteration start. states are compared by their fingerprint only.
+ */
+public record Cycle<S>(int start, List<S> states) {
+    /**
+     * finds the cycle length with Brent's algorithm, then walks once from the initial state comparing each
+     * state with the one a cycle length before. this needs no map of fingerprints, but steps up to about three
+     * times as often as {@link #findFirstRepeat}, so it suits cheap step functions. the step function has to
+     * return a new state and must not change the given one.
+     */
+    public static <S> Cycle<S> find(S initial, UnaryOperator<S> step, ToLongFunction<S> fingerprint) {
+        S tortoise = initial;
+        long tortoiseFingerprint = fingerprint.applyAsLong(initial);
+        S hare = step.apply(initial);
+        long hareFingerprint = fingerprint.applyAsLong(hare);
+        int power = 1;
+        int length = 1;
+        while (tortoiseFingerprint != hareFingerprint) {
+            if (power == length) {
+                tortoise = hare;
+                tortoiseFingerprint = hareFingerprint;
+                power *= 2;
+                length = 0;
+            }
+            hare = step.apply(hare);
+            hareFingerprint = fingerprint.applyAsLong(hare);
+            length++;
+        }
+
+        List<S> states = new ArrayList<>();
+        long[] fingerprints = new long[length];
+        S state = initial;
+        for (int i = 0; ; i++) {
+            long stateFingerprint = fingerprint.applyAsLong(state);
+            if (i >= length && fingerprints[i % length] == stateFingerprint) {
+                return new Cycle<>(i - length, List.copyOf(states));
+            }
+            fingerprints[i % length] = stateFingerprint;
+            states.add(state);
+            state = step.apply(state);
+        }
+    }
+
+    /**
+     * walks from the initial state once, remembering the first iteration of each fingerprint, and stops at the
+     * first repeated one. this needs one step per state up to the end of the first cycle, so prefer it over
+     * {@link #find} for expensive step functions. the step function has to return a new state and must not
+     * change the given one.
+     */
+    public static <S> Cycle<S> findFirstRepeat(S initial, UnaryOperator<S> step, ToLongFunction<S> fingerprint) {
+        List<S> states = new ArrayList<>();
+        LongLongMap firstIterations = new LongLongMap();
+        S state = initial;
+        for (int i = 0; ; i++) {
+            long stateFingerprint = fingerprint.applyAsLong(state);
+            long firstIteration = firstIterations.getOrDefault(stateFingerprint, -1);
+            if (firstIteration >= 0) {
+                return new Cycle<>((int) firstIteration, List.copyOf(states));
+            }
+            firstIterations.put(stateFingerprint, i);
+            states.add(state);
+            state = step.apply(state);
+        }
+    }
+
+    public int length() {
+        return states.size() - start;
+    }
+
+    /**
+     * @return the first iteration having the same state as the given one
+     */
+    public long equivalentIteration(long iteration) {
+        return iteration < start ? iteration : start + (iteration - start) % length();
+    }
+
+    public S stateAt(long iteration) {
+        return states.get((int) equivalentIteration(iteration));
+    }
+}
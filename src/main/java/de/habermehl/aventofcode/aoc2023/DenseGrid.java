@@ -0,0 +1,164 @@
+package de.habermehl.aventofcode.aoc2023;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * one byte per cell, stored row by row either on the heap or in direct memory. the latter keeps very large
+ * grids out of the heap. heap grids access their array directly.
+ */
+public final class DenseGrid {
+    private final int width;
+    private final int height;
+    private final ByteBuffer cells;
+    // the backing array of heap grids, null otherwise
+    private final byte[] heapCells;
+
+    private DenseGrid(int width, int height, ByteBuffer cells) {
+        this.width = width;
+        this.height = height;
+        this.cells = cells;
+        this.heapCells = cells.hasArray() ? cells.array() : null;
+    }
+
+    public static DenseGrid create(int width, int height) {
+        return new DenseGrid(width, height, ByteBuffer.wrap(new byte[Math.multiplyExact(width, height)]));
+    }
+
+    public static DenseGrid createDirect(int width, int height) {
+        return new DenseGrid(width, height, ByteBuffer.allocateDirect(Math.multiplyExact(width, height)));
+    }
+
+    /**
+     * reads the lines of the input into direct memory without creating a string per line. lines end with LF or
+     * CRLF, blank lines are only allowed at the end.
+     *
+     * @throws IllegalArgumentException if the lines differ in length
+     */
+    public static DenseGrid ofDirect(ByteInput input) {
+        ByteCursor cursor = input.cursor();
+        int width = cursor.lineLength();
+        int height = 0;
+        boolean blankLineFound = false;
+        for (; cursor.hasRemaining(); cursor.nextLine()) {
+            int length = cursor.lineLength();
+            if (length == 0) {
+                blankLineFound = true;
+            } else if (blankLineFound) {
+                throw new IllegalArgumentException("blank line within the grid before line " + (height + 1));
+            } else if (length != width) {
+                throw new IllegalArgumentException("line " + (height + 1) + " has " + length + " cells instead of " + width);
+            } else {
+                height++;
+            }
+        }
+        DenseGrid grid = createDirect(width, height);
+        cursor = input.cursor();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                grid.set(x, y, input.get(cursor.position() + x));
+            }
+            cursor.nextLine();
+        }
+        return grid;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the lines differ in length
+     */
+    public static DenseGrid of(List<String> inputLines) {
+        DenseGrid grid = create(inputLines.get(0).length(), inputLines.size());
+        for (int y = 0; y < grid.height; y++) {
+            String line = inputLines.get(y);
+            if (line.length() != grid.width) {
+                throw new IllegalArgumentException("line " + (y + 1) + " has " + line.length() + " cells instead of " + grid.width);
+            }
+            for (int x = 0; x < grid.width; x++) {
+                grid.set(x, y, (byte) line.charAt(x));
+            }
+        }
+        return grid;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int size() {
+        return cells.capacity();
+    }
+
+    public int index(int x, int y) {
+        return y * width + x;
+    }
+
+    public int index(Position position) {
+        return index((int) position.x(), (int) position.y());
+    }
+
+    public int x(int index) {
+        return index % width;
+    }
+
+    public int y(int index) {
+        return index / width;
+    }
+
+    public Position position(int index) {
+        return new Position(x(index), y(index));
+    }
+
+    public boolean contains(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    public byte get(int x, int y) {
+        return get(index(x, y));
+    }
+
+    public byte get(int index) {
+        return heapCells != null ? heapCells[index] : cells.get(index);
+    }
+
+    public void set(int x, int y, byte value) {
+        set(index(x, y), value);
+    }
+
+    public void set(int index, byte value) {
+        if (heapCells != null) {
+            heapCells[index] = value;
+        } else {
+            cells.put(index, value);
+        }
+    }
+
+    /**
+     * @return the index of the cell next to the given one, or -1 if that cell is outside the grid
+     */
+    public int neighbor(int index, Direction direction) {
+        int x = x(index) + Direction.dx(direction.ordinal());
+        int y = y(index) + Direction.dy(direction.ordinal());
+        return contains(x, y) ? index(x, y) : -1;
+    }
+
+    public void forEachNeighbor(int index, NeighborConsumer consumer) {
+        int x = x(index);
+        int y = y(index);
+        for (int ordinal = 0; ordinal < DirectionSet.SIZE; ordinal++) {
+            int neighborX = x + Direction.dx(ordinal);
+            int neighborY = y + Direction.dy(ordinal);
+            if (contains(neighborX, neighborY)) {
+                consumer.accept(index(neighborX, neighborY), Direction.of(ordinal));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface NeighborConsumer {
+        void accept(int index, Direction direction);
+    }
+}
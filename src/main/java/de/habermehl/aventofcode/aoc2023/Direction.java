@@ -15,6 +15,8 @@ public enum Direction {
             .mapToInt(Direction::ordinal)
             .mapToObj(ordinal -> new Details(ALL[(ordinal + ALL.length - 1) % ALL.length], ALL[(ordinal + 1) % ALL.length], ALL[(ordinal + 2) % ALL.length]))
             .toArray(Details[]::new);
+    private static final int[] DX = Stream.of(ALL).mapToInt(direction -> (int) direction.x).toArray();
+    private static final int[] DY = Stream.of(ALL).mapToInt(direction -> (int) direction.y).toArray();
 
     private final long x;
     private final long y;
@@ -27,6 +29,21 @@ public enum Direction {
         return y;
     }
 
+    /**
+     * @return the x offset of the direction with the given ordinal
+     */
+    public static int dx(int ordinal) {
+        return DX[ordinal];
+    }
+
+    public static int dy(int ordinal) {
+        return DY[ordinal];
+    }
+
+    public static Direction of(int ordinal) {
+        return ALL[ordinal];
+    }
+
     public Direction left() {
         return getDetails().left();
     }
@@ -0,0 +1,57 @@
+package de.habermehl.aventofcode.aoc2023;
+
+/**
+ * a set of directions as a bitmask of their ordinals, so it can be passed around as a plain int
+ */
+public final class DirectionSet {
+    public static final int SIZE = Direction.values().length;
+    public static final int NONE = 0;
+    public static final int ALL = (1 << SIZE) - 1;
+
+    private DirectionSet() {
+        // nothing to initialize
+    }
+
+    public static int of(Direction... directions) {
+        int result = NONE;
+        for (Direction direction : directions) {
+            result = with(result, direction);
+        }
+        return result;
+    }
+
+    public static int with(int directions, Direction direction) {
+        return directions | (1 << direction.ordinal());
+    }
+
+    public static int without(int directions, Direction direction) {
+        return directions & ~(1 << direction.ordinal());
+    }
+
+    public static boolean contains(int directions, Direction direction) {
+        return (directions & (1 << direction.ordinal())) != 0;
+    }
+
+    public static int size(int directions) {
+        return Integer.bitCount(directions);
+    }
+
+    public static boolean isEmpty(int directions) {
+        return directions == NONE;
+    }
+
+    /**
+     * @return the lowest ordinal within the set, the set must not be empty
+     */
+    public static int firstOrdinal(int directions) {
+        return Integer.numberOfTrailingZeros(directions);
+    }
+
+    public static Direction first(int directions) {
+        return Direction.of(firstOrdinal(directions));
+    }
+
+    public static int withoutFirst(int directions) {
+        return directions & (directions - 1);
+    }
+}
@@ -0,0 +1,28 @@
+package de.habermehl.aventofcode.aoc2023;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * progress counters of the long-running solver loops, readable over JMX via {@link HotLoopCounters}
+ */
+public enum HotLoopCounter {
+    SHORTEST_PATH_RELAXATIONS,
+    RAYS_PROCESSED,
+    LONGEST_PATH_EXPANSIONS,
+    TILT_CYCLES,
+    PULSES_SENT;
+
+    private final LongAdder count = new LongAdder();
+
+    public void increment() {
+        count.increment();
+    }
+
+    public long sum() {
+        return count.sum();
+    }
+
+    void reset() {
+        count.reset();
+    }
+}
@@ -0,0 +1,65 @@
+package de.habermehl.aventofcode.aoc2023;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * exposes the {@link HotLoopCounter}s as platform MBean, e.g. to watch the progress rate of a long run in JConsole
+ */
+public final class HotLoopCounters implements HotLoopCountersMBean {
+    public static final String OBJECT_NAME = "de.habermehl.aventofcode.aoc2023:type=HotLoopCounters";
+
+    private HotLoopCounters() {
+        // nothing to initialize
+    }
+
+    /**
+     * registers the MBean unless that already happened
+     */
+    public static synchronized void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new HotLoopCounters(), name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("couldn't register " + OBJECT_NAME, e);
+        }
+    }
+
+    @Override
+    public long getShortestPathRelaxations() {
+        return HotLoopCounter.SHORTEST_PATH_RELAXATIONS.sum();
+    }
+
+    @Override
+    public long getRaysProcessed() {
+        return HotLoopCounter.RAYS_PROCESSED.sum();
+    }
+
+    @Override
+    public long getLongestPathExpansions() {
+        return HotLoopCounter.LONGEST_PATH_EXPANSIONS.sum();
+    }
+
+    @Override
+    public long getTiltCycles() {
+        return HotLoopCounter.TILT_CYCLES.sum();
+    }
+
+    @Override
+    public long getPulsesSent() {
+        return HotLoopCounter.PULSES_SENT.sum();
+    }
+
+    @Override
+    public void reset() {
+        for (HotLoopCounter counter : HotLoopCounter.values()) {
+            counter.reset();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package de.habermehl.aventofcode.aoc2023;
+
+public interface HotLoopCountersMBean {
+    long getShortestPathRelaxations();
+
+    long getRaysProcessed();
+
+    long getLongestPathExpansions();
+
+    long getTiltCycles();
+
+    long getPulsesSent();
+
+    void reset();
+}
@@ -0,0 +1,194 @@
+package de.habermehl.aventofcode.aoc2023;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+
+public final class LongObjectMap<V> {
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int maxFill;
+    private boolean containsZero;
+    private V zeroValue;
+    private int size;
+
+    public LongObjectMap() {
+        this(OpenAddressing.DEFAULT_EXPECTED_SIZE);
+    }
+
+    public LongObjectMap(int expectedSize) {
+        allocate(OpenAddressing.tableSize(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? containsZero : find(key) >= 0;
+    }
+
+    public V get(long key) {
+        return getOrDefault(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(long key, V defaultValue) {
+        if (key == 0) {
+            return containsZero ? zeroValue : defaultValue;
+        }
+        int position = find(key);
+        return position >= 0 ? (V) values[position] : defaultValue;
+    }
+
+    public V computeIfAbsent(long key, LongFunction<V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    public void put(long key, V value) {
+        if (key == 0) {
+            if (!containsZero) {
+                containsZero = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int position = OpenAddressing.mix(key) & mask;
+        long current;
+        while ((current = keys[position]) != 0) {
+            if (current == key) {
+                values[position] = value;
+                return;
+            }
+            position = (position + 1) & mask;
+        }
+        keys[position] = key;
+        values[position] = value;
+        if (++size > maxFill) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    public boolean remove(long key) {
+        if (key == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            zeroValue = null;
+            size--;
+            return true;
+        }
+        int position = find(key);
+        if (position < 0) {
+            return false;
+        }
+        shiftKeys(position);
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        containsZero = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<V> consumer) {
+        if (containsZero) {
+            consumer.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    public LongStream keys() {
+        LongStream.Builder result = LongStream.builder();
+        forEach((key, value) -> result.add(key));
+        return result.build();
+    }
+
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        forEach((key, value) -> result.add(value));
+        return result;
+    }
+
+    private int find(long key) {
+        int position = OpenAddressing.mix(key) & mask;
+        long current;
+        while ((current = keys[position]) != 0) {
+            if (current == key) {
+                return position;
+            }
+            position = (position + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftKeys(int position) {
+        int free = position;
+        int current = position;
+        while (true) {
+            current = (current + 1) & mask;
+            long key = keys[current];
+            if (key == 0) {
+                keys[free] = 0;
+                values[free] = null;
+                return;
+            }
+            if (OpenAddressing.isShiftable(free, current, OpenAddressing.mix(key) & mask)) {
+                keys[free] = key;
+                values[free] = values[current];
+                free = current;
+            }
+        }
+    }
+
+    private void rehash(int tableSize) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(tableSize);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int position = OpenAddressing.mix(oldKeys[i]) & mask;
+                while (keys[position] != 0) {
+                    position = (position + 1) & mask;
+                }
+                keys[position] = oldKeys[i];
+                values[position] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        keys = new long[tableSize];
+        values = new Object[tableSize];
+        mask = tableSize - 1;
+        maxFill = OpenAddressing.maxFill(tableSize);
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+}
@@ -0,0 +1,173 @@
+package de.habermehl.aventofcode.aoc2023;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+public final class LongSet {
+    private long[] keys;
+    private int mask;
+    private int maxFill;
+    private boolean containsZero;
+    private int size;
+
+    public LongSet() {
+        this(OpenAddressing.DEFAULT_EXPECTED_SIZE);
+    }
+
+    public LongSet(int expectedSize) {
+        allocate(OpenAddressing.tableSize(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) {
+            return containsZero;
+        }
+        int position = OpenAddressing.mix(key) & mask;
+        long current;
+        while ((current = keys[position]) != 0) {
+            if (current == key) {
+                return true;
+            }
+            position = (position + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean add(long key) {
+        if (key == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int position = OpenAddressing.mix(key) & mask;
+        long current;
+        while ((current = keys[position]) != 0) {
+            if (current == key) {
+                return false;
+            }
+            position = (position + 1) & mask;
+        }
+        keys[position] = key;
+        if (++size > maxFill) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    public void addAll(LongSet other) {
+        if (other.containsZero) {
+            add(0);
+        }
+        for (long key : other.keys) {
+            if (key != 0) {
+                add(key);
+            }
+        }
+    }
+
+    public boolean remove(long key) {
+        if (key == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int position = OpenAddressing.mix(key) & mask;
+        long current;
+        while ((current = keys[position]) != 0) {
+            if (current == key) {
+                shiftKeys(position);
+                size--;
+                return true;
+            }
+            position = (position + 1) & mask;
+        }
+        return false;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    public void forEach(LongConsumer consumer) {
+        if (containsZero) {
+            consumer.accept(0);
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                consumer.accept(key);
+            }
+        }
+    }
+
+    public long[] toArray() {
+        long[] result = new long[size];
+        int i = 0;
+        if (containsZero) {
+            result[i++] = 0;
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(toArray());
+    }
+
+    private void shiftKeys(int position) {
+        int free = position;
+        int current = position;
+        while (true) {
+            current = (current + 1) & mask;
+            long key = keys[current];
+            if (key == 0) {
+                keys[free] = 0;
+                return;
+            }
+            if (OpenAddressing.isShiftable(free, current, OpenAddressing.mix(key) & mask)) {
+                keys[free] = key;
+                free = current;
+            }
+        }
+    }
+
+    private void rehash(int tableSize) {
+        long[] oldKeys = keys;
+        allocate(tableSize);
+        for (long key : oldKeys) {
+            if (key != 0) {
+                int position = OpenAddressing.mix(key) & mask;
+                while (keys[position] != 0) {
+                    position = (position + 1) & mask;
+                }
+                keys[position] = key;
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        keys = new long[tableSize];
+        mask = tableSize - 1;
+        maxFill = OpenAddressing.maxFill(tableSize);
+    }
+}
@@ -0,0 +1,41 @@
+package de.habermehl.aventofcode.aoc2023;
+
+/**
+ * shared helpers of the open addressing (linear probing) long collections. key 0 is never stored
+ * in the tables, the collections keep track of it separately.
+ */
+final class OpenAddressing {
+    static final float LOAD_FACTOR = 0.5f;
+    static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    private OpenAddressing() {
+        // nothing to initialize
+    }
+
+    static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        return (int) (hash ^ (hash >>> 16));
+    }
+
+    static int tableSize(int expectedSize) {
+        long size = Math.max(2L, (long) Math.ceil(expectedSize / LOAD_FACTOR));
+        long tableSize = Long.highestOneBit(size - 1) << 1;
+        if (tableSize > 1 << 30) {
+            throw new IllegalArgumentException("too many elements: " + expectedSize);
+        }
+        return (int) tableSize;
+    }
+
+    static int maxFill(int tableSize) {
+        return (int) (tableSize * LOAD_FACTOR);
+    }
+
+    /**
+     * @return whether the key at position current has to be moved into the free slot, which is the
+     * case if the free slot lies cyclically between the key's home slot and its current position
+     */
+    static boolean isShiftable(int free, int current, int home) {
+        return free <= current ? free >= home || home > current : free >= home && home > current;
+    }
+}
@@ -0,0 +1,39 @@
+package de.habermehl.aventofcode.aoc2023;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * flight recorder event for parse, part1 and part2 of a day as well as for phases within them, e.g.
+ * <pre>PhaseEvent event = PhaseEvent.start(22, "settle bricks", bricks.size());
+ * ...
+ * event.commit();</pre>
+ */
+@Name("de.habermehl.aventofcode.aoc2023.Phase")
+@Label("Solver Phase")
+@Category("Advent of Code")
+@StackTrace(false)
+public final class PhaseEvent extends Event {
+    @Label("Day")
+    private int day;
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("Input Size")
+    @Description("lines of the input, or the amount of elements handled by a phase within a part")
+    private long inputSize;
+
+    public static PhaseEvent start(int day, String phase, long inputSize) {
+        PhaseEvent event = new PhaseEvent();
+        event.day = day;
+        event.phase = phase;
+        event.inputSize = inputSize;
+        event.begin();
+        return event;
+    }
+}
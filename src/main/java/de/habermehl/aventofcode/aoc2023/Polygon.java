@@ -1,7 +1,12 @@
 package de.habermehl.aventofcode.aoc2023;
 
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * a closed polygon, the last vertex is connected to the first one. the exact area and lattice point
+ * methods require integer coordinates.
+ */
 public record Polygon(List<Position> vertices) {
     public boolean contains(Position test) {
         return contains(test.x(), test.y());
@@ -19,4 +24,115 @@ public record Polygon(List<Position> vertices) {
         }
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * twice the area (shoelace formula), which is always an integer for lattice polygons
+     */
+    public long doubledArea() {
+        return outline().doubledArea();
+    }
+
+    /**
+     * @return the amount of lattice points on the edges
+     */
+    public long boundaryPoints() {
+        return outline().boundaryPoints();
+    }
+
+    /**
+     * @return the amount of lattice points strictly inside, by Pick's theorem
+     */
+    public long interiorPoints() {
+        return outline().interiorPoints();
+    }
+
+    /**
+     * @return the amount of lattice points inside or on the edges
+     */
+    public long enclosedPoints() {
+        return outline().enclosedPoints();
+    }
+
+    private Outline outline() {
+        Outline result = new Outline();
+        vertices.forEach(result::add);
+        return result;
+    }
+
+    /**
+     * calls the consumer with the runs of lattice points inside the polygon for each row within the
+     * given range. points on the edges may be part of a run or not.
+     */
+    public void forEachInsideRun(long fromY, long toY, RunConsumer consumer) {
+        long[] crossings = new long[vertices.size()];
+        for (long y = fromY; y <= toY; y++) {
+            int count = 0;
+            Position v1 = vertices.get(vertices.size() - 1);
+            for (Position v2 : vertices) {
+                if ((v1.y() > y) != (v2.y() > y)) {
+                    crossings[count++] = v1.x() + ceilDiv((y - v1.y()) * (v2.x() - v1.x()), v2.y() - v1.y());
+                }
+                v1 = v2;
+            }
+            Arrays.sort(crossings, 0, count);
+            for (int i = 0; i + 1 < count; i += 2) {
+                if (crossings[i] < crossings[i + 1]) {
+                    consumer.accept(y, crossings[i], crossings[i + 1] - 1);
+                }
+            }
+        }
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return divisor < 0 ? -Math.floorDiv(dividend, -divisor) : -Math.floorDiv(-dividend, divisor);
+    }
+
+    /**
+     * the area and lattice point counts of a polygon whose vertices are added one by one, without keeping them
+     */
+    public static final class Outline {
+        private Position first;
+        private Position last;
+        private long shoelaceSum;
+        private long boundaryPoints;
+
+        public void add(Position vertex) {
+            if (first == null) {
+                first = vertex;
+            } else {
+                addEdge(last, vertex);
+            }
+            last = vertex;
+        }
+
+        private void addEdge(Position v1, Position v2) {
+            shoelaceSum += v1.x() * v2.y() - v2.x() * v1.y();
+            boundaryPoints += Utils.getGreatestCommonDivisor(Math.abs(v2.x() - v1.x()), Math.abs(v2.y() - v1.y()));
+        }
+
+        /**
+         * twice the area (shoelace formula) including the edge from the last vertex back to the first one
+         */
+        public long doubledArea() {
+            return first == null ? 0 : Math.abs(shoelaceSum + last.x() * first.y() - first.x() * last.y());
+        }
+
+        public long boundaryPoints() {
+            return first == null ? 0
+                    : boundaryPoints + Utils.getGreatestCommonDivisor(Math.abs(first.x() - last.x()), Math.abs(first.y() - last.y()));
+        }
+
+        public long interiorPoints() {
+            return (doubledArea() - boundaryPoints() + 2) / 2;
+        }
+
+        public long enclosedPoints() {
+            return interiorPoints() + boundaryPoints();
+        }
+    }
+
+    @FunctionalInterface
+    public interface RunConsumer {
+        void accept(long y, long fromX, long toX);
+    }
+}
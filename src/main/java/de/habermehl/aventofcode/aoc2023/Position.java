@@ -1,5 +1,10 @@
 package de.habermehl.aventofcode.aoc2023;
 
+/**
+ * positions can be packed into a single long (x in the upper, y in the lower 32 bits), which allows
+ * using them in {@link LongSet}, {@link LongLongMap} and {@link LongObjectMap} without allocations.
+ * packing requires both coordinates to fit into an int.
+ */
 public record Position(long x, long y) {
     public Position moveTo(Direction direction) {
         return new Position(x + direction.x(), y + direction.y());
@@ -8,4 +13,45 @@ public record Position(long x, long y) {
     public Position moveTo(Direction direction, long steps) {
         return new Position(x + direction.x() * steps, y + direction.y() * steps);
     }
-}
\ No newline at end of file
+
+    public long pack() {
+        return pack(x, y);
+    }
+
+    public static long pack(long x, long y) {
+        return (x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static long unpackX(long packed) {
+        return packed >> 32;
+    }
+
+    public static long unpackY(long packed) {
+        return (int) packed;
+    }
+
+    public static Position unpack(long packed) {
+        return new Position(unpackX(packed), unpackY(packed));
+    }
+
+    public static long moveTo(long packed, Direction direction) {
+        return pack(unpackX(packed) + direction.x(), unpackY(packed) + direction.y());
+    }
+
+    /**
+     * calls the visitor with the coordinates of each neighbour in the given {@link DirectionSet}
+     */
+    public static void forEachNeighbor(long packed, int directions, NeighborVisitor visitor) {
+        int x = (int) unpackX(packed);
+        int y = (int) unpackY(packed);
+        for (int remaining = directions; remaining != 0; remaining = DirectionSet.withoutFirst(remaining)) {
+            int ordinal = DirectionSet.firstOrdinal(remaining);
+            visitor.visit(x + Direction.dx(ordinal), y + Direction.dy(ordinal), Direction.of(ordinal));
+        }
+    }
+
+    @FunctionalInterface
+    public interface NeighborVisitor {
+        void visit(int x, int y, Direction direction);
+    }
+}
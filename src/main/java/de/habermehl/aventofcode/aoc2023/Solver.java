@@ -0,0 +1,10 @@
+package de.habermehl.aventofcode.aoc2023;
+
+/**
+ * a parsed puzzle input, which can answer both parts of the puzzle
+ */
+public interface Solver {
+    long getPart1();
+
+    long getPart2();
+}
@@ -0,0 +1,30 @@
+package de.habermehl.aventofcode.aoc2023;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * registered in META-INF/services, one per day. the solver class is only loaded once {@link #create} or
+ * {@link #type} is called, so discovering the factories doesn't load the days.
+ */
+public interface SolverFactory {
+    int day();
+
+    Class<? extends Solver> type();
+
+    Solver create(List<String> inputLines);
+
+    /**
+     * solves both parts within a single pass over the lines, for days supporting it
+     *
+     * @return empty if the day needs all lines at once
+     */
+    default Optional<Answers> solveSinglePass(Stream<String> inputLines) {
+        return Optional.empty();
+    }
+
+    default String inputResource() {
+        return String.format("aoc2023/day%02d/input", day());
+    }
+}
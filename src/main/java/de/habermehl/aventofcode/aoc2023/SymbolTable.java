@@ -0,0 +1,42 @@
+package de.habermehl.aventofcode.aoc2023;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * assigns the dense ids 0, 1, 2, ... to labels in the order they are seen first, so solvers can keep their
+ * data in arrays indexed by label instead of looking up strings
+ */
+public final class SymbolTable {
+    public static final int UNKNOWN = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> symbols = new ArrayList<>();
+
+    public int intern(String symbol) {
+        Integer id = ids.get(symbol);
+        if (id == null) {
+            id = symbols.size();
+            ids.put(symbol, id);
+            symbols.add(symbol);
+        }
+        return id;
+    }
+
+    /**
+     * @return the id of an already interned symbol, {@link #UNKNOWN} otherwise
+     */
+    public int id(String symbol) {
+        return ids.getOrDefault(symbol, UNKNOWN);
+    }
+
+    public String symbol(int id) {
+        return symbols.get(id);
+    }
+
+    public int size() {
+        return symbols.size();
+    }
+}
@@ -0,0 +1,219 @@
+package de.habermehl.aventofcode.aoc2023;
+
+import java.util.NoSuchElementException;
+
+/**
+ * walks a single line from left to right and reads numbers, words (letters, digits and '_') and
+ * separators without regular expressions. apart from {@link #nextWord()} nothing is allocated.
+ */
+public abstract class TokenScanner {
+    protected static final int END = -1;
+
+    public static TokenScanner of(CharSequence line) {
+        return new CharSequenceScanner(line);
+    }
+
+    /**
+     * @return the character at the given offset from the current position or {@link #END} at the end of the
+     * line, the offset must not reach beyond the end of the line
+     */
+    protected abstract int peek(int offset);
+
+    protected abstract void advance(int count);
+
+    public int peek() {
+        return peek(0);
+    }
+
+    public int next() {
+        int c = peek();
+        if (c != END) {
+            advance(1);
+        }
+        return c;
+    }
+
+    public boolean isEndOfLine() {
+        return peek() == END;
+    }
+
+    public boolean skip(char expected) {
+        if (peek() == expected) {
+            advance(1);
+            return true;
+        }
+        return false;
+    }
+
+    public boolean skip(String expected) {
+        for (int i = 0; i < expected.length(); i++) {
+            if (peek(i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        advance(expected.length());
+        return true;
+    }
+
+    public void skipWhitespace() {
+        while (Character.isWhitespace(peek())) {
+            advance(1);
+        }
+    }
+
+    /**
+     * skips everything up to and including the next occurrence of the given character in the line
+     */
+    public void skipPast(char c) {
+        int current;
+        while ((current = next()) != END && current != c) {
+            // skip until the character is found
+        }
+    }
+
+    public boolean hasNextLong() {
+        int c;
+        for (int i = 0; (c = peek(i)) != END; i++) {
+            if (isDigit(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * skips everything up to the next number of the line and parses it, a directly preceding '-' makes the
+     * number negative
+     */
+    public long nextLong() {
+        boolean negative = false;
+        int c;
+        while ((c = peek()) != END && !isDigit(c)) {
+            advance(1);
+            negative = c == '-';
+        }
+        if (c == END) {
+            throw new NoSuchElementException("no number left in line");
+        }
+        long result = 0;
+        while (isDigit(c = peek())) {
+            result = Math.addExact(Math.multiplyExact(result, 10), c - '0');
+            advance(1);
+        }
+        return negative ? -result : result;
+    }
+
+    public int nextInt() {
+        return Math.toIntExact(nextLong());
+    }
+
+    /**
+     * parses exactly the given amount of hexadecimal digits at the current position
+     */
+    public long nextHex(int digits) {
+        long result = 0;
+        for (int i = 0; i < digits; i++) {
+            int value = Character.digit(next(), 16);
+            if (value < 0) {
+                throw new NumberFormatException("expected " + digits + " hexadecimal digits");
+            }
+            result = result * 16 + value;
+        }
+        return result;
+    }
+
+    public boolean hasNextWord() {
+        int c;
+        for (int i = 0; (c = peek(i)) != END; i++) {
+            if (isWordCharacter(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String nextWord() {
+        int length = skipToNextWord();
+        char[] word = new char[length];
+        for (int i = 0; i < length; i++) {
+            word[i] = (char) peek(i);
+        }
+        advance(length);
+        return new String(word);
+    }
+
+    /**
+     * reads the next word and compares it with the candidates
+     *
+     * @return the index of the matching candidate or -1 if no candidate matches
+     */
+    public int nextWordIndex(String[] candidates) {
+        int length = skipToNextWord();
+        int result = -1;
+        for (int i = 0; i < candidates.length && result < 0; i++) {
+            if (isAtWord(candidates[i], length)) {
+                result = i;
+            }
+        }
+        advance(length);
+        return result;
+    }
+
+    private boolean isAtWord(String candidate, int length) {
+        if (candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (peek(i) != candidate.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the length of the word at the new position
+     */
+    private int skipToNextWord() {
+        int c;
+        while ((c = peek()) != END && !isWordCharacter(c)) {
+            advance(1);
+        }
+        if (c == END) {
+            throw new NoSuchElementException("no word left in line");
+        }
+        int length = 0;
+        while (isWordCharacter(peek(length))) {
+            length++;
+        }
+        return length;
+    }
+
+    protected static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordCharacter(int c) {
+        return c != END && (Character.isLetterOrDigit(c) || c == '_');
+    }
+
+    private static final class CharSequenceScanner extends TokenScanner {
+        private final CharSequence line;
+        private int position;
+
+        private CharSequenceScanner(CharSequence line) {
+            this.line = line;
+        }
+
+        @Override
+        protected int peek(int offset) {
+            int index = position + offset;
+            return index < line.length() ? line.charAt(index) : END;
+        }
+
+        @Override
+        protected void advance(int count) {
+            position += count;
+        }
+    }
+}
@@ -2,9 +2,15 @@ package de.habermehl.aventofcode.aoc2023;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public final class Utils {
     private Utils() {
@@ -12,13 +18,60 @@ public final class Utils {
     }
 
     public static List<String> getInput(String filename) throws IOException {
+        final URL resource = getResource(filename);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream()))) {
+            return reader.lines().toList();
+        }
+    }
+
+    /**
+     * reads the lines lazily while the stream is consumed, the stream has to be closed afterwards
+     */
+    public static Stream<String> streamInput(String filename) throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(getResource(filename).openStream()));
+        return reader.lines().onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * memory-maps the resource if it is a plain file, otherwise (e.g. inside a jar) its bytes are read into memory
+     */
+    public static ByteInput getInputBytes(String filename) throws IOException {
+        final Optional<Path> path = getInputPath(filename);
+        if (path.isPresent()) {
+            return ByteInput.map(path.get());
+        }
+        try (InputStream inputStream = getResource(filename).openStream()) {
+            return ByteInput.of(inputStream.readAllBytes());
+        }
+    }
+
+    /**
+     * @return the location of the resource if it is a plain file, empty e.g. inside a jar
+     */
+    public static Optional<Path> getInputPath(String filename) throws IOException {
+        final URL resource = getResource(filename);
+        if (!"file".equals(resource.getProtocol())) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Path.of(resource.toURI()));
+        } catch (URISyntaxException e) {
+            throw new IOException("invalid resource location " + resource, e);
+        }
+    }
+
+    private static URL getResource(String filename) throws IOException {
         final URL resource = Utils.class.getClassLoader().getResource(filename);
         if (resource == null) {
             throw new IOException("couldn't find resource " + filename);
         }
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream()))) {
-            return reader.lines().toList();
-        }
+        return resource;
     }
 
     public static long getLeastCommonMultiple(long m, long n) {
@@ -2,6 +2,7 @@ package de.habermehl.aventofcode.aoc2023.day01;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -9,10 +10,13 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import de.habermehl.aventofcode.aoc2023.Answers;
+import de.habermehl.aventofcode.aoc2023.Solver;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day1 {
+public class Day1 implements Solver {
     private static final Map<String, Integer> ONLY_DIGITS = IntStream.rangeClosed(1, 9)
             .boxed()
             .collect(Collectors.toMap(String::valueOf, Function.identity()));
@@ -26,6 +30,8 @@ public class Day1 {
             Map.entry("seven", 7),
             Map.entry("eight", 8),
             Map.entry("nine", 9));
+    private static final Calibration DIGITS = Calibration.of(ONLY_DIGITS);
+    private static final Calibration DIGITS_AND_WORDS = Calibration.of(getDigitsAndWords());
 
     private final List<String> inputLines;
 
@@ -37,28 +43,34 @@ public class Day1 {
         this.inputLines = inputLines;
     }
 
-    public int getPart1() {
-        return getResult(ONLY_DIGITS);
+    @Override
+    public long getPart1() {
+        return inputLines.stream().mapToLong(DIGITS::getValue).sum();
     }
 
-    public int getPart2() {
-        Map<String, Integer> mappings = new HashMap<>(ONLY_DIGITS);
-        mappings.putAll(ONLY_WORDS);
-        return getResult(mappings);
+    @Override
+    public long getPart2() {
+        return inputLines.stream().mapToLong(DIGITS_AND_WORDS::getValue).sum();
     }
 
-    private int getResult(Map<String, Integer> mappings) {
-        Pattern startPattern = Pattern.compile("(" + String.join("|", mappings.keySet()) + ")");
-        Pattern endPattern = Pattern.compile(".*(" + String.join("|", mappings.keySet()) + ")");
-        int sum = 0;
-        for (String inputLine : inputLines) {
-            Matcher startMatcher = startPattern.matcher(inputLine);
-            Matcher endMatcher = endPattern.matcher(inputLine);
-            if (startMatcher.find() && endMatcher.find()) {
-                sum += mappings.get(startMatcher.group(1)) * 10 + mappings.get(endMatcher.group(1));
-            }
+    /**
+     * solves both parts within a single pass over the lines, which are consumed as they are read
+     */
+    public static Answers solve(Stream<String> inputLines) {
+        long part1 = 0;
+        long part2 = 0;
+        for (Iterator<String> lines = inputLines.iterator(); lines.hasNext();) {
+            String inputLine = lines.next();
+            part1 += DIGITS.getValue(inputLine);
+            part2 += DIGITS_AND_WORDS.getValue(inputLine);
         }
-        return sum;
+        return new Answers(part1, part2);
+    }
+
+    private static Map<String, Integer> getDigitsAndWords() {
+        Map<String, Integer> result = new HashMap<>(ONLY_DIGITS);
+        result.putAll(ONLY_WORDS);
+        return result;
     }
 
     public static void main(String... args) throws IOException {
@@ -66,4 +78,21 @@ public class Day1 {
         System.out.println(day.getClass().getSimpleName() + " / part1: " + day.getPart1());
         System.out.println(day.getClass().getSimpleName() + " / part2: " + day.getPart2());
     }
+
+    private record Calibration(Map<String, Integer> mappings, Pattern startPattern, Pattern endPattern) {
+        static Calibration of(Map<String, Integer> mappings) {
+            return new Calibration(mappings,
+                    Pattern.compile("(" + String.join("|", mappings.keySet()) + ")"),
+                    Pattern.compile(".*(" + String.join("|", mappings.keySet()) + ")"));
+        }
+
+        int getValue(String inputLine) {
+            Matcher startMatcher = startPattern.matcher(inputLine);
+            Matcher endMatcher = endPattern.matcher(inputLine);
+            if (startMatcher.find() && endMatcher.find()) {
+                return mappings.get(startMatcher.group(1)) * 10 + mappings.get(endMatcher.group(1));
+            }
+            return 0;
+        }
+    }
 }
@@ -1,18 +1,18 @@
 package de.habermehl.aventofcode.aoc2023.day02;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+import de.habermehl.aventofcode.aoc2023.Answers;
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.TokenScanner;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day2 {
-    private static final Pattern GAME_PATTERN = Pattern.compile("^Game (\\d+): (.*)$");
-    private static final Pattern VALUES_PATTERN = Pattern.compile("(\\d+) (\\w+)");
+public class Day2 implements Solver {
+    private static final String[] COLORS = {"red", "green", "blue"};
+    private static final int[] MAX_AMOUNTS = {12, 13, 14};
     private final List<String> inputLines;
 
     public Day2() throws IOException {
@@ -23,47 +23,73 @@ public class Day2 {
         this.inputLines = inputLines;
     }
 
-    public int getPart1() {
-        Map<String, Integer> maxValues = Map.of("red", 12, "green", 13, "blue", 14);
-        int possibleSum = 0;
-        for (String inputLine : inputLines) {
-            Matcher matcher = GAME_PATTERN.matcher(inputLine);
-            if (matcher.find()) {
-                boolean possible = true;
-                int game = Integer.parseInt(matcher.group(1));
-                for (Entry<String, Integer> entry : colorAmounts(matcher.group(2)).entrySet()) {
-                    if (maxValues.getOrDefault(entry.getKey(), 0) < entry.getValue()) {
-                        possible = false;
-                    }
-                }
-                if (possible) {
-                    possibleSum += game;
-                }
-            }
+    @Override
+    public long getPart1() {
+        return inputLines.stream().mapToLong(Day2::getPossibleGame).sum();
+    }
+
+    @Override
+    public long getPart2() {
+        return inputLines.stream().mapToLong(Day2::getPower).sum();
+    }
+
+    /**
+     * solves both parts within a single pass over the lines, which are consumed as they are read
+     */
+    public static Answers solve(Stream<String> inputLines) {
+        long part1 = 0;
+        long part2 = 0;
+        for (Iterator<String> lines = inputLines.iterator(); lines.hasNext();) {
+            String inputLine = lines.next();
+            part1 += getPossibleGame(inputLine);
+            part2 += getPower(inputLine);
         }
-        return possibleSum;
+        return new Answers(part1, part2);
     }
 
-    public int getPart2() {
-        int sum = 0;
-        for (String inputLine : inputLines) {
-            Matcher matcher = GAME_PATTERN.matcher(inputLine);
-            if (matcher.find()) {
-                int power = colorAmounts(matcher.group(2)).values().stream()
-                        .mapToInt(Integer::valueOf)
-                        .reduce(1, (a, b) -> a * b);
-                sum += power;
+    /**
+     * @return the number of the game if it is possible, 0 otherwise
+     */
+    private static int getPossibleGame(String inputLine) {
+        TokenScanner scanner = TokenScanner.of(inputLine);
+        if (!scanner.skip("Game ")) {
+            return 0;
+        }
+        int game = scanner.nextInt();
+        int[] amounts = colorAmounts(scanner);
+        for (int color = 0; color < COLORS.length; color++) {
+            if (MAX_AMOUNTS[color] < amounts[color]) {
+                return 0;
             }
         }
-        return sum;
+        return game;
     }
 
-    private Map<String, Integer> colorAmounts(String line) {
-        final Map<String, Integer> result = new HashMap<>();
-        Matcher matcher = VALUES_PATTERN.matcher(line);
-        while (matcher.find()) {
-            int cubeAmount = Integer.parseInt(matcher.group(1));
-            result.compute(matcher.group(2), (key, oldValue) -> oldValue == null || oldValue <= cubeAmount ? cubeAmount : oldValue);
+    private static int getPower(String inputLine) {
+        TokenScanner scanner = TokenScanner.of(inputLine);
+        if (!scanner.skip("Game ")) {
+            return 0;
+        }
+        scanner.nextInt();
+        int power = 1;
+        for (int amount : colorAmounts(scanner)) {
+            power *= amount == 0 ? 1 : amount;
+        }
+        return power;
+    }
+
+    /**
+     * @return the maximum amount per color in the order of {@link #COLORS}
+     */
+    private static int[] colorAmounts(TokenScanner scanner) {
+        int[] result = new int[COLORS.length];
+        while (scanner.hasNextLong()) {
+            int cubeAmount = scanner.nextInt();
+            int color = scanner.nextWordIndex(COLORS);
+            if (color < 0) {
+                throw new IllegalArgumentException("unknown color in game");
+            }
+            result[color] = Math.max(result[color], cubeAmount);
         }
         return result;
     }
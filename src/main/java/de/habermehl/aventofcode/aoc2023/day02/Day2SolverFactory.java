@@ -0,0 +1,31 @@
+package de.habermehl.aventofcode.aoc2023.day02;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import de.habermehl.aventofcode.aoc2023.Answers;
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.SolverFactory;
+
+public final class Day2SolverFactory implements SolverFactory {
+    @Override
+    public int day() {
+        return 2;
+    }
+
+    @Override
+    public Class<? extends Solver> type() {
+        return Day2.class;
+    }
+
+    @Override
+    public Solver create(List<String> inputLines) {
+        return new Day2(inputLines);
+    }
+
+    @Override
+    public Optional<Answers> solveSinglePass(Stream<String> inputLines) {
+        return Optional.of(Day2.solve(inputLines));
+    }
+}
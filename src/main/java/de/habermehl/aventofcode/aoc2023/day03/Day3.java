@@ -2,19 +2,16 @@ package de.habermehl.aventofcode.aoc2023.day03;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
-
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.Multimap;
 
+import de.habermehl.aventofcode.aoc2023.CsrAdjacency;
+import de.habermehl.aventofcode.aoc2023.Solver;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day3 {
+public class Day3 implements Solver {
     private final List<String> inputLines;
 
     public Day3() throws IOException {
@@ -25,7 +22,8 @@ public class Day3 {
         this.inputLines = inputLines;
     }
 
-    public int getPart1() {
+    @Override
+    public long getPart1() {
         Set<Point> symbolPoints = getSymbolPoints(inputLines).keySet();
         int sum = 0;
         for (Position numberPosition : getNumberPositions(inputLines)) {
@@ -37,23 +35,34 @@ public class Day3 {
         return sum;
     }
 
-    public int getPart2() {
-        Set<Point> gearPoints = getSymbolPoints(inputLines).entrySet().stream()
-                .filter(entry -> "*".equals(entry.getValue()))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toSet());
-        Multimap<Point, Integer> gearNumbers = ArrayListMultimap.create();
-        for (Position numberPosition : getNumberPositions(inputLines)) {
-            for (Point surroundingPoint : numberPosition.getSurroundingPoints()) {
-                if (gearPoints.contains(surroundingPoint)) {
-                    gearNumbers.put(surroundingPoint, numberPosition.number());
+    @Override
+    public long getPart2() {
+        Map<Point, Integer> gearIndexes = new HashMap<>();
+        getSymbolPoints(inputLines).forEach((point, symbol) -> {
+            if ("*".equals(symbol)) {
+                gearIndexes.put(point, gearIndexes.size());
+            }
+        });
+        List<Position> numberPositions = getNumberPositions(inputLines);
+        // gears are the nodes 0 ... gears - 1, followed by the numbers
+        CsrAdjacency.Builder gearNumbersBuilder = CsrAdjacency.builder(gearIndexes.size() + numberPositions.size());
+        for (int i = 0; i < numberPositions.size(); i++) {
+            for (Point surroundingPoint : numberPositions.get(i).getSurroundingPoints()) {
+                Integer gear = gearIndexes.get(surroundingPoint);
+                if (gear != null) {
+                    gearNumbersBuilder.add(gear, gearIndexes.size() + i);
                 }
             }
         }
+        CsrAdjacency gearNumbers = gearNumbersBuilder.buildUnweighted();
         int sum = 0;
-        for (Collection<Integer> value : gearNumbers.asMap().values()) {
-            if (value.size() > 1) {
-                sum += value.stream().mapToInt(Integer::valueOf).reduce(1, (a, b) -> a * b);
+        for (int gear = 0; gear < gearIndexes.size(); gear++) {
+            if (gearNumbers.degree(gear) > 1) {
+                int product = 1;
+                for (int edge = gearNumbers.firstEdge(gear); edge < gearNumbers.endEdge(gear); edge++) {
+                    product *= numberPositions.get(gearNumbers.target(edge) - gearIndexes.size()).number();
+                }
+                sum += product;
             }
         }
         return sum;
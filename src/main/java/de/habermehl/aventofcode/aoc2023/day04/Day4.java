@@ -1,20 +1,18 @@
 package de.habermehl.aventofcode.aoc2023.day04;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.TreeSet;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+import de.habermehl.aventofcode.aoc2023.Answers;
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.TokenScanner;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day4 {
-    private static final Pattern GAME_PATTERN = Pattern.compile("^Card.*?: (.*)\\|(.*)$");
-    private static final Pattern VALUES_PATTERN = Pattern.compile("(\\d+)");
-
+public class Day4 implements Solver {
     private final List<String> inputLines;
 
     public Day4() throws IOException {
@@ -25,7 +23,8 @@ public class Day4 {
         this.inputLines = inputLines;
     }
 
-    public int getPart1() {
+    @Override
+    public long getPart1() {
         int points = 0;
         for (String inputLine : inputLines) {
             int matchingNumbersAmount = getMatchingNumberAmounts(inputLine);
@@ -34,55 +33,93 @@ public class Day4 {
         return points;
     }
 
-    public int getPart2() {
-        Map<Integer, Integer> cardWinningPoints = getCardWinningPoints(inputLines);
-        int result = 0;
-        for (int cardId : cardWinningPoints.keySet()) {
-            result += getWonCards(cardId, cardWinningPoints);
-        }
-        return result;
+    @Override
+    public long getPart2() {
+        CardCounter counter = new CardCounter();
+        inputLines.forEach(counter::add);
+        return counter.cards();
     }
 
-    private Map<Integer, Integer> getCardWinningPoints(List<String> inputLines) {
-        Map<Integer, Integer> result = new TreeMap<>();
-        for (int i = 0; i < inputLines.size(); i++) {
-            result.put(i, getMatchingNumberAmounts(inputLines.get(i)));
-        }
-        return result;
+    /**
+     * solves both parts within a single pass over the lines, which are consumed as they are read
+     */
+    public static Answers solve(Stream<String> inputLines) {
+        CardCounter counter = new CardCounter();
+        inputLines.forEach(counter::add);
+        return new Answers(counter.points(), counter.cards());
     }
 
     private static int getMatchingNumberAmounts(String inputLine) {
-        Matcher matcher = GAME_PATTERN.matcher(inputLine);
-        if (matcher.find()) {
-            Set<Integer> winningNumbers = getNumbers(matcher.group(1));
-            return (int) getNumbers(matcher.group(2)).stream()
-                    .filter(winningNumbers::contains)
-                    .count();
+        TokenScanner scanner = TokenScanner.of(inputLine);
+        if (!scanner.skip("Card")) {
+            return 0;
         }
-        return 0;
-    }
-
-    private static Set<Integer> getNumbers(String input) {
-        Set<Integer> result = new TreeSet<>();
-        Matcher matcher = VALUES_PATTERN.matcher(input);
-        while (matcher.find()) {
-            result.add(Integer.valueOf(matcher.group(1)));
+        scanner.skipPast(':');
+        Set<Integer> winningNumbers = new TreeSet<>();
+        scanner.skipWhitespace();
+        while (!scanner.skip('|')) {
+            winningNumbers.add(scanner.nextInt());
+            scanner.skipWhitespace();
         }
-        return result;
-    }
-
-    private int getWonCards(int cardId, Map<Integer, Integer> cardWinningPoints) {
-        int result = 1;
-        int winningPoints = cardWinningPoints.getOrDefault(cardId, 0);
-        for (int i = 1; i <= winningPoints; i++) {
-            result += getWonCards(cardId + i, cardWinningPoints);
+        int result = 0;
+        while (scanner.hasNextLong()) {
+            if (winningNumbers.contains(scanner.nextInt())) {
+                result++;
+            }
         }
         return result;
     }
 
+
     public static void main(String... args) throws IOException {
         Day4 day = new Day4();
         System.out.println(day.getClass().getSimpleName() + " / part1: " + day.getPart1());
         System.out.println(day.getClass().getSimpleName() + " / part2: " + day.getPart2());
     }
+
+    /**
+     * counts the cards card by card: only the copies won for the next few cards have to be remembered, in a ring
+     * buffer starting at the next card
+     */
+    private static final class CardCounter {
+        private long[] wonCopies = new long[16];
+        private int nextCard;
+        private long points;
+        private long cards;
+
+        void add(String inputLine) {
+            long copies = 1 + wonCopies[nextCard];
+            wonCopies[nextCard] = 0;
+            nextCard = (nextCard + 1) % wonCopies.length;
+            cards += copies;
+            int matchingNumbersAmount = getMatchingNumberAmounts(inputLine);
+            points += matchingNumbersAmount == 0 ? 0 : (1 << (matchingNumbersAmount - 1));
+            if (matchingNumbersAmount > wonCopies.length) {
+                grow(matchingNumbersAmount);
+            }
+            for (int i = 0; i < matchingNumbersAmount; i++) {
+                wonCopies[(nextCard + i) % wonCopies.length] += copies;
+            }
+        }
+
+        private void grow(int minimumCapacity) {
+            long[] grown = new long[Math.max(minimumCapacity, wonCopies.length * 2)];
+            for (int i = 0; i < wonCopies.length; i++) {
+                grown[i] = wonCopies[(nextCard + i) % wonCopies.length];
+            }
+            wonCopies = grown;
+            nextCard = 0;
+        }
+
+        long points() {
+            return points;
+        }
+
+        /**
+         * @return the original and won cards, including copies won beyond the last card
+         */
+        long cards() {
+            return cards + Arrays.stream(wonCopies).sum();
+        }
+    }
 }
@@ -10,16 +10,12 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
 
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.TokenScanner;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day5 {
-    private static final Pattern SEEDS_PATTERN = Pattern.compile("^seeds:\\s+([\\d\\s]+)");
-    private static final Pattern MAPPING_NAME_PATTERN = Pattern.compile("(\\w+)-to-(\\w+) map:");
-    private static final Pattern MAPPING_VALUE_PATTERN = Pattern.compile("(\\d+)\\s+(\\d+)\\s+(\\d+)");
+public class Day5 implements Solver {
     private final List<String> inputLines;
 
     public Day5() throws IOException {
@@ -30,6 +26,7 @@ public class Day5 {
         this.inputLines = inputLines;
     }
 
+    @Override
     public long getPart1() {
         return getMinLocation(getAlmanac(inputLines, this::getSeedRangesPart1));
     }
@@ -40,6 +37,7 @@ public class Day5 {
                 .toList();
     }
 
+    @Override
     public long getPart2() {
         return getMinLocation(getAlmanac(inputLines, this::getSeedRangesPart2));
     }
@@ -99,28 +97,35 @@ public class Day5 {
     }
 
     private static Optional<List<Range>> parseSeeds(String inputLine, Function<List<Long>, List<Range>> seedRangesProvider) {
-        Matcher matcher = SEEDS_PATTERN.matcher(inputLine);
-        if (matcher.find()) {
-            final List<Long> seeds = Stream.of(matcher.group(1).split("\\s+")).map(Long::valueOf).toList();
+        TokenScanner scanner = TokenScanner.of(inputLine);
+        if (scanner.skip("seeds:")) {
+            final List<Long> seeds = new ArrayList<>();
+            while (scanner.hasNextLong()) {
+                seeds.add(scanner.nextLong());
+            }
             return Optional.of(seedRangesProvider.apply(seeds));
         }
         return Optional.empty();
     }
 
     private static Optional<Map.Entry<String, String>> parseMappingName(String inputLine) {
-        Matcher matcher = MAPPING_NAME_PATTERN.matcher(inputLine);
-        if (matcher.find()) {
-            return Optional.of(Map.entry(matcher.group(1), matcher.group(2)));
+        if (!inputLine.endsWith(" map:")) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        TokenScanner scanner = TokenScanner.of(inputLine);
+        String source = scanner.nextWord();
+        if (!scanner.skip("-to-")) {
+            return Optional.empty();
+        }
+        return Optional.of(Map.entry(source, scanner.nextWord()));
     }
 
     private static Optional<Map<Range, Long>> parseDestinationDiffs(String inputLine) {
-        Matcher matcher = MAPPING_VALUE_PATTERN.matcher(inputLine);
-        if (matcher.find()) {
-            long destination = Long.parseLong(matcher.group(1));
-            long source = Long.parseLong(matcher.group(2));
-            long range = Long.parseLong(matcher.group(3));
+        TokenScanner scanner = TokenScanner.of(inputLine);
+        if (scanner.hasNextLong()) {
+            long destination = scanner.nextLong();
+            long source = scanner.nextLong();
+            long range = scanner.nextLong();
             long diff = destination - source;
             return Optional.of(Map.of(new Range(source, source + range - 1), diff));
         }
@@ -1,19 +1,18 @@
 package de.habermehl.aventofcode.aoc2023.day06;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.UnaryOperator;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
 
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.TokenScanner;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day6 {
-    private static final Pattern VALUE_PATTERN = Pattern.compile("(Time|Distance):\\s+([\\d\\s]+)");
+public class Day6 implements Solver {
     private final List<String> inputLines;
 
     public Day6() throws IOException {
@@ -24,10 +23,12 @@ public class Day6 {
         this.inputLines = inputLines;
     }
 
+    @Override
     public long getPart1() {
         return getResult(UnaryOperator.identity());
     }
 
+    @Override
     public long getPart2() {
         return getResult(string -> string.replace(" ", ""));
     }
@@ -55,9 +56,17 @@ public class Day6 {
     private Map<Long, Long> getTimeDistances(UnaryOperator<String> timeInputProcessor) {
         Map<String, List<Long>> values = new HashMap<>();
         for (String inputLine : inputLines) {
-            Matcher matcher = VALUE_PATTERN.matcher(inputLine);
-            if (matcher.find()) {
-                values.put(matcher.group(1), Stream.of(timeInputProcessor.apply(matcher.group(2)).split("\\s+")).map(Long::valueOf).toList());
+            TokenScanner scanner = TokenScanner.of(timeInputProcessor.apply(inputLine));
+            if (!scanner.hasNextWord()) {
+                continue;
+            }
+            String valueName = scanner.nextWord();
+            if (scanner.skip(':')) {
+                List<Long> numbers = new ArrayList<>();
+                while (scanner.hasNextLong()) {
+                    numbers.add(scanner.nextLong());
+                }
+                values.put(valueName, numbers);
             }
         }
         Iterator<Long> times = values.get("Time").iterator();
@@ -0,0 +1,23 @@
+package de.habermehl.aventofcode.aoc2023.day06;
+
+import java.util.List;
+
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.SolverFactory;
+
+public final class Day6SolverFactory implements SolverFactory {
+    @Override
+    public int day() {
+        return 6;
+    }
+
+    @Override
+    public Class<? extends Solver> type() {
+        return Day6.class;
+    }
+
+    @Override
+    public Solver create(List<String> inputLines) {
+        return new Day6(inputLines);
+    }
+}
@@ -3,19 +3,22 @@ package de.habermehl.aventofcode.aoc2023.day07;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
+import de.habermehl.aventofcode.aoc2023.Answers;
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.TokenScanner;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day7 {
+public class Day7 implements Solver {
 
     private static final Map<String, Integer> HAND_VALUES = Map.of(
             "5", 6,
@@ -24,7 +27,9 @@ public class Day7 {
             "3", 3,
             "2-2", 2,
             "2", 1);
-    private static final Pattern CARD_BIDS = Pattern.compile("(\\w{5})\\s+(\\d+)");
+    private static final String CARD_ORDER = "23456789TJQKA";
+    private static final String JOKER_CARD_ORDER = "J23456789TQKA";
+    private static final String JOKER = "J";
     private final List<CardsBid> cardsBids;
 
     public Day7() throws IOException {
@@ -35,29 +40,61 @@ public class Day7 {
         cardsBids = getCardsBids(inputLines);
     }
 
+    @Override
     public long getPart1() {
-        return getWinnings("23456789TJQKA", "");
+        return getWinnings(cardsBids.stream().mapToLong(cardsBid -> getSortKey(cardsBid, CARD_ORDER, "")));
     }
 
+    @Override
     public long getPart2() {
-        return getWinnings("J23456789TQKA", "J");
+        return getWinnings(cardsBids.stream().mapToLong(cardsBid -> getSortKey(cardsBid, JOKER_CARD_ORDER, JOKER)));
     }
 
-    private long getWinnings(String cardValueOrder, String joker) {
-        Map<String, Integer> handsValues = cardsBids.stream()
-                .collect(Collectors.toMap(CardsBid::cards, cardsBid -> getHandValue(cardsBid.cards(), joker)));
-        Map<Character, Integer> cardsValues = getCardsValues(cardValueOrder);
-        CardsBid[] sortedCards = cardsBids.stream()
-                .sorted(Comparator.comparing(CardsBid::cards, Comparator.comparingInt(handsValues::get))
-                        .thenComparing(CardsBid::cards, (cards1, cards2) -> compareCardValues(cards1, cards2, cardsValues)))
-                .toArray(CardsBid[]::new);
+    /**
+     * solves both parts within a single pass over the lines, which are consumed as they are read. the hands
+     * have to be ranked at the end, so only their sort keys are kept.
+     */
+    public static Answers solve(Stream<String> inputLines) {
+        LongStream.Builder part1SortKeys = LongStream.builder();
+        LongStream.Builder part2SortKeys = LongStream.builder();
+        for (Iterator<String> lines = inputLines.iterator(); lines.hasNext();) {
+            CardsBid cardsBid = getCardsBid(lines.next());
+            if (cardsBid != null) {
+                part1SortKeys.add(getSortKey(cardsBid, CARD_ORDER, ""));
+                part2SortKeys.add(getSortKey(cardsBid, JOKER_CARD_ORDER, JOKER));
+            }
+        }
+        return new Answers(getWinnings(part1SortKeys.build()), getWinnings(part2SortKeys.build()));
+    }
+
+    private static long getWinnings(LongStream sortKeys) {
+        long[] sortedCards = sortKeys.sorted().toArray();
         long result = 0;
         for (int i = 1; i <= sortedCards.length; i++) {
-            result += i * sortedCards[i - 1].bid();
+            result += i * (sortedCards[i - 1] & 0xFFFF_FFFFL);
         }
         return result;
     }
 
+    /**
+     * orders by the value of the hand, then by the values of its cards, 4 bits each. the bid is kept in the
+     * lower 32 bits.
+     */
+    private static long getSortKey(CardsBid cardsBid, String cardValueOrder, String joker) {
+        if (cardsBid.bid() < 0 || cardsBid.bid() > 0xFFFF_FFFFL) {
+            throw new IllegalArgumentException("bid out of range: " + cardsBid);
+        }
+        long result = getHandValue(cardsBid.cards(), joker);
+        for (char card : cardsBid.cards().toCharArray()) {
+            int cardValue = cardValueOrder.indexOf(card);
+            if (cardValue < 0) {
+                throw new IllegalArgumentException("unknown card in " + cardsBid);
+            }
+            result = result << 4 | cardValue;
+        }
+        return result << 32 | cardsBid.bid();
+    }
+
     private static int getHandValue(String cards, String joker) {
         Map<String, Integer> cardTypeAmount = cards.codePoints()
                 .mapToObj(Character::toString)
@@ -82,32 +119,24 @@ public class Day7 {
                 .orElse(0);
     }
 
-    private static int compareCardValues(String hand1, String hand2, Map<Character, Integer> cardsValues) {
-        for (int i = 0; i < hand1.toCharArray().length; i++) {
-            int result = Integer.compare(cardsValues.get(hand1.charAt(i)), cardsValues.get(hand2.charAt(i)));
-            if (result != 0) {
-                return result;
-            }
-        }
-        return 0;
-    }
-
     private static List<CardsBid> getCardsBids(List<String> inputLines) {
         List<CardsBid> result = new ArrayList<>();
         for (String inputLine : inputLines) {
-            Matcher matcher = CARD_BIDS.matcher(inputLine);
-            if (matcher.find()) {
-                result.add(new CardsBid(matcher.group(1), Long.parseLong(matcher.group(2))));
+            CardsBid cardsBid = getCardsBid(inputLine);
+            if (cardsBid != null) {
+                result.add(cardsBid);
             }
         }
         return result;
     }
 
-    private static Map<Character, Integer> getCardsValues(String cardByValueOrder) {
-        AtomicInteger value = new AtomicInteger(0);
-        return cardByValueOrder.chars()
-                .mapToObj(c -> (char) c)
-                .collect(Collectors.toMap(Function.identity(), card -> value.incrementAndGet()));
+    private static CardsBid getCardsBid(String inputLine) {
+        TokenScanner scanner = TokenScanner.of(inputLine);
+        if (!scanner.hasNextWord()) {
+            return null;
+        }
+        String cards = scanner.nextWord();
+        return new CardsBid(cards, scanner.nextLong());
     }
 
     public static void main(String... args) throws IOException {
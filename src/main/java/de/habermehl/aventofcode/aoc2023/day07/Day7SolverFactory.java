@@ -0,0 +1,31 @@
+package de.habermehl.aventofcode.aoc2023.day07;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import de.habermehl.aventofcode.aoc2023.Answers;
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.SolverFactory;
+
+public final class Day7SolverFactory implements SolverFactory {
+    @Override
+    public int day() {
+        return 7;
+    }
+
+    @Override
+    public Class<? extends Solver> type() {
+        return Day7.class;
+    }
+
+    @Override
+    public Solver create(List<String> inputLines) {
+        return new Day7(inputLines);
+    }
+
+    @Override
+    public Optional<Answers> solveSinglePass(Stream<String> inputLines) {
+        return Optional.of(Day7.solve(inputLines));
+    }
+}
@@ -1,68 +1,156 @@
 package de.habermehl.aventofcode.aoc2023.day08;
 
-import static de.habermehl.aventofcode.aoc2023.Utils.getLeastCommonMultiple;
-
 import java.io.IOException;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Predicate;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import com.google.common.collect.Iterators;
+import java.util.function.IntPredicate;
 
+import de.habermehl.aventofcode.aoc2023.Congruence;
+import de.habermehl.aventofcode.aoc2023.Cycle;
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.SymbolTable;
+import de.habermehl.aventofcode.aoc2023.TokenScanner;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day8 {
+public class Day8 implements Solver {
 
-    private static final Pattern TARGETS = Pattern.compile("(\\w+)\\s+=\\s+\\((\\w+), (\\w+)\\)");
-    private final List<String> inputLines;
-    private final Map<String, Node> nodes;
+    private final String instructions;
+    private final SymbolTable nodeNames = new SymbolTable();
+    /**
+     * the left and right neighbour per node id
+     */
+    private final int[] left;
+    private final int[] right;
+    private final boolean[] endNodes;
+    private final int[] startNodes;
 
     public Day8() throws IOException {
         this(Utils.getInput("aoc2023/day08/input"));
     }
 
     Day8(List<String> inputLines) {
-        this.inputLines = inputLines;
-        nodes = getTargetNodes(inputLines);
+        instructions = inputLines.get(0);
+        List<int[]> targets = getTargets(inputLines);
+        left = new int[nodeNames.size()];
+        right = new int[nodeNames.size()];
+        for (int[] target : targets) {
+            left[target[0]] = target[1];
+            right[target[0]] = target[2];
+        }
+        endNodes = new boolean[nodeNames.size()];
+        List<Integer> starts = new ArrayList<>();
+        for (int node = 0; node < nodeNames.size(); node++) {
+            endNodes[node] = nodeNames.symbol(node).endsWith("Z");
+            if (nodeNames.symbol(node).endsWith("A")) {
+                starts.add(node);
+            }
+        }
+        startNodes = starts.stream().mapToInt(Integer::intValue).toArray();
     }
 
+    @Override
     public long getPart1() {
-        return getSteps("AAA", "ZZZ"::equals);
+        int end = nodeNames.id("ZZZ");
+        return getSteps(nodeNames.id("AAA"), node -> node == end);
     }
 
+    /**
+     * every ghost ends up in a cycle of (node, instruction) states, whose end nodes have to be passed in
+     * equal intervals. before the last ghost has entered its cycle, the ghosts are moved step by step.
+     */
+    @Override
     public long getPart2() {
-        long i = 1;
-        for (String start : nodes.keySet().stream().filter(value -> value.endsWith("A")).toList()) {
-            i = getLeastCommonMultiple(i, getSteps(start, value -> value.endsWith("Z")));
+        List<Cycle<Long>> cycles = new ArrayList<>();
+        long earliestArrival = 1;
+        for (int start : startNodes) {
+            Cycle<Long> cycle = Cycle.find((long) start * instructions.length(), this::getNextState, Long::longValue);
+            cycles.add(cycle);
+            earliestArrival = Math.max(earliestArrival, cycle.start());
+        }
+
+        long[] states = new long[startNodes.length];
+        for (int ghost = 0; ghost < startNodes.length; ghost++) {
+            states[ghost] = (long) startNodes[ghost] * instructions.length();
+        }
+        for (long step = 1; step < earliestArrival; step++) {
+            boolean allArrived = true;
+            for (int ghost = 0; ghost < states.length; ghost++) {
+                states[ghost] = getNextState(states[ghost]);
+                allArrived &= isEnd(states[ghost]);
+            }
+            if (allArrived) {
+                return step;
+            }
+        }
+
+        Congruence arrival = Congruence.ALL;
+        for (int ghost = 0; ghost < cycles.size(); ghost++) {
+            Cycle<Long> cycle = cycles.get(ghost);
+            List<Long> arrivals = new ArrayList<>();
+            for (long iteration = cycle.start(); iteration < cycle.start() + cycle.length(); iteration++) {
+                if (isEnd(cycle.stateAt(iteration))) {
+                    arrivals.add(iteration);
+                }
+            }
+            String startName = nodeNames.symbol(startNodes[ghost]);
+            if (arrivals.isEmpty()) {
+                throw new IllegalStateException("ghost starting at " + startName + " never arrives");
+            }
+            long interval = cycle.length() / arrivals.size();
+            for (int i = 0; i < arrivals.size(); i++) {
+                if (cycle.length() % arrivals.size() != 0 || arrivals.get(i) != arrivals.get(0) + i * interval) {
+                    throw new IllegalStateException("ghost starting at " + startName + " doesn't arrive in equal intervals");
+                }
+            }
+            arrival = arrival.combine(new Congruence(arrivals.get(0), interval))
+                    .orElseThrow(() -> new IllegalStateException("the ghosts never arrive at the same time"));
         }
-        return i;
+        return arrival.firstAtLeast(earliestArrival);
+    }
+
+    /**
+     * a state is node * instructions + instruction
+     */
+    private long getNextState(long state) {
+        int node = (int) (state / instructions.length());
+        int instruction = (int) (state % instructions.length());
+        return (long) getNextNode(node, instruction) * instructions.length() + (instruction + 1) % instructions.length();
+    }
+
+    private boolean isEnd(long state) {
+        return endNodes[(int) (state / instructions.length())];
+    }
+
+    private int getNextNode(int node, int instruction) {
+        return instructions.charAt(instruction) == 'L' ? left[node] : right[node];
     }
 
-    private long getSteps(String start, Predicate<String> endCondition) {
-        Iterator<String> directions = Iterators.cycle(inputLines.get(0).split(""));
-        String nextWay = start;
+    private long getSteps(int start, IntPredicate endCondition) {
+        int node = start;
         long steps = 0;
         do {
+            node = getNextNode(node, (int) (steps % instructions.length()));
             steps++;
-            String direction = directions.next();
-            nextWay = nodes.get(nextWay).getNext(direction);
-        } while (!endCondition.test(nextWay));
+        } while (!endCondition.test(node));
         return steps;
     }
 
-    private static Map<String, Node> getTargetNodes(List<String> inputLines) {
-        Map<String, Node> result = new LinkedHashMap<>();
-        for (String inputLine : inputLines) {
-            Matcher matcher = TARGETS.matcher(inputLine);
-            if (matcher.find()) {
-                result.put(matcher.group(1), new Node(matcher.group(2), matcher.group(3)));
+    private List<int[]> getTargets(List<String> inputLines) {
+        List<int[]> targets = new ArrayList<>();
+        for (String inputLine : inputLines.subList(1, inputLines.size())) {
+            TokenScanner scanner = TokenScanner.of(inputLine);
+            if (!scanner.hasNextWord()) {
+                continue;
+            }
+            int node = nodeNames.intern(scanner.nextWord());
+            scanner.skipWhitespace();
+            if (scanner.skip('=')) {
+                int left = nodeNames.intern(scanner.nextWord());
+                int right = nodeNames.intern(scanner.nextWord());
+                targets.add(new int[] { node, left, right });
             }
         }
-        return result;
+        return targets;
     }
 
     public static void main(String... args) throws IOException {
@@ -71,9 +159,4 @@ public class Day8 {
         System.out.println(day.getClass().getSimpleName() + " / part2: " + day.getPart2());
     }
 
-    private record Node(String left, String right) {
-        String getNext(String direction) {
-            return "L".equals(direction) ? left : right;
-        }
-    }
 }
@@ -8,9 +8,11 @@ import java.util.List;
 import java.util.function.ToLongBiFunction;
 import java.util.stream.Stream;
 
+import de.habermehl.aventofcode.aoc2023.Answers;
+import de.habermehl.aventofcode.aoc2023.Solver;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day9 {
+public class Day9 implements Solver {
 
     private final List<List<Long>> inputLines;
 
@@ -20,23 +22,51 @@ public class Day9 {
 
     Day9(List<String> inputLines) {
         this.inputLines = inputLines.stream()
-                .map(line -> Stream.of(line.split("\\s")).map(Long::valueOf).toList())
+                .map(Day9::getValues)
                 .toList();
     }
 
+    @Override
     public long getPart1() {
         return inputLines.stream()
-                .mapToLong(value -> getNextValue(value, (previousValue, list) -> previousValue + list.get(list.size() - 1)))
+                .mapToLong(Day9::getNextValue)
                 .sum();
     }
 
+    @Override
     public long getPart2() {
         return inputLines.stream()
-                .mapToLong(value -> getNextValue(value, (previousValue, list) -> list.get(0) - previousValue))
+                .mapToLong(Day9::getPreviousValue)
                 .sum();
     }
 
-    private long getNextValue(List<Long> source, ToLongBiFunction<Long, List<Long>> itemFunction) {
+    /**
+     * solves both parts within a single pass over the lines, which are consumed as they are read
+     */
+    public static Answers solve(Stream<String> inputLines) {
+        long part1 = 0;
+        long part2 = 0;
+        for (Iterator<String> lines = inputLines.iterator(); lines.hasNext();) {
+            List<Long> values = getValues(lines.next());
+            part1 += getNextValue(values);
+            part2 += getPreviousValue(values);
+        }
+        return new Answers(part1, part2);
+    }
+
+    private static List<Long> getValues(String inputLine) {
+        return Stream.of(inputLine.split("\\s")).map(Long::valueOf).toList();
+    }
+
+    private static long getNextValue(List<Long> values) {
+        return getNextValue(values, (previousValue, list) -> previousValue + list.get(list.size() - 1));
+    }
+
+    private static long getPreviousValue(List<Long> values) {
+        return getNextValue(values, (previousValue, list) -> list.get(0) - previousValue);
+    }
+
+    private static long getNextValue(List<Long> source, ToLongBiFunction<Long, List<Long>> itemFunction) {
         LinkedList<List<Long>> pyramid = new LinkedList<>();
         pyramid.add(source);
         while (pyramid.getLast().stream().anyMatch(n -> n != 0L)) {
@@ -51,7 +81,7 @@ public class Day9 {
         return nextValue;
     }
 
-    private List<Long> getDiffs(List<Long> source) {
+    private static List<Long> getDiffs(List<Long> source) {
         List<Long> result = new ArrayList<>(source.size() - 1);
         for (int i = 1; i < source.size(); i++) {
             result.add(source.get(i) - source.get(i - 1));
@@ -2,157 +2,155 @@ package de.habermehl.aventofcode.aoc2023.day10;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
-import java.util.TreeSet;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import de.habermehl.aventofcode.aoc2023.Direction;
+import de.habermehl.aventofcode.aoc2023.LongObjectMap;
+import de.habermehl.aventofcode.aoc2023.LongSet;
+import de.habermehl.aventofcode.aoc2023.PhaseEvent;
 import de.habermehl.aventofcode.aoc2023.Polygon;
 import de.habermehl.aventofcode.aoc2023.Position;
+import de.habermehl.aventofcode.aoc2023.Solver;
 import de.habermehl.aventofcode.aoc2023.Utils;
+import de.habermehl.aventofcode.aoc2023.graph.BreadthFirstSearch;
+import de.habermehl.aventofcode.aoc2023.graph.Graph;
 
 import lombok.AllArgsConstructor;
 
-public class Day10 {
+public class Day10 implements Solver {
 
     private final PipeMap sourceMap;
-    private final Position startPosition;
+    private final long startPosition;
 
     public Day10() throws IOException {
         this(Utils.getInput("aoc2023/day10/input"));
     }
 
     Day10(List<String> inputLines) {
-        Entry<PipeMap, Position> mapAndStartPoint = getMapAndStartPosition(inputLines);
+        Entry<PipeMap, Long> mapAndStartPoint = getMapAndStartPosition(inputLines);
         sourceMap = mapAndStartPoint.getKey();
         startPosition = mapAndStartPoint.getValue();
     }
 
+    @Override
     public long getPart1() {
-        return getUsedPipesMinDistances(sourceMap, startPosition).values().stream()
-                .mapToLong(Long::longValue)
+        return IntStream.of(getLoopDistances(sourceMap, startPosition))
                 .max()
-                .orElse(Long.MAX_VALUE);
+                .orElse(Integer.MAX_VALUE);
     }
 
     public long getPart1v2() {
-        return Math.round(getWayThroughPipe(sourceMap, startPosition).size() / 2.0);
+        return Math.round(getWayThroughPipe(sourceMap, startPosition).length / 2.0);
     }
 
+    /**
+     * counts the tiles within the runs of each row inside the loop, leaving out the tiles of the loop itself
+     */
+    @Override
     public long getPart2() {
-        Set<Position> usedPipesPositions = getUsedPipesMinDistances(sourceMap, startPosition).keySet();
-        PipeMap cleanPipeMap = sourceMap.onlyWithPipesAt(usedPipesPositions);
-        PipeMap highResolutionPipeMap = cleanPipeMap.withDoubledResolution();
-        Set<Position> spacesConnectedToOutside = highResolutionPipeMap.getSpacesConnectedToOutside();
-
-        return cleanPipeMap.getNonPipePositions().stream()
-                .map(position -> new Position(position.x() * 2, position.y() * 2))
-                .filter(Predicate.not(spacesConnectedToOutside::contains))
-                .count();
+        PhaseEvent loopTracing = PhaseEvent.start(10, "trace loop", sourceMap.size());
+        long[] wayThroughPipe = getWayThroughPipe(sourceMap, startPosition);
+        loopTracing.commit();
+        PhaseEvent interiorCounting = PhaseEvent.start(10, "count interior", wayThroughPipe.length);
+        LongSet loop = new LongSet(wayThroughPipe.length);
+        for (long position : wayThroughPipe) {
+            loop.add(position);
+        }
+        long[] result = new long[1];
+        getLoopPolygon(wayThroughPipe).forEachInsideRun(sourceMap.min().y(), sourceMap.max().y(), (y, fromX, toX) -> {
+            for (long x = fromX; x <= toX; x++) {
+                if (!loop.contains(Position.pack(x, y))) {
+                    result[0]++;
+                }
+            }
+        });
+        interiorCounting.commit();
+        return result[0];
     }
 
     public long getPart2v2() {
-        Set<Position> wayThroughPipe = getWayThroughPipe(sourceMap, startPosition);
-        Polygon polygon = new Polygon(new ArrayList<>(wayThroughPipe));
-        long sum = 0;
-        for (long x = sourceMap.min().x(); x <= sourceMap.max().x(); x++) {
-            for (long y = sourceMap.min().y(); y <= sourceMap.max().y(); y++) {
-                final Position position = new Position(x, y);
-                if (!wayThroughPipe.contains(position) && polygon.contains(position)) {
-                    sum++;
-                }
-            }
-        }
-        return sum;
+        PhaseEvent loopTracing = PhaseEvent.start(10, "trace loop", sourceMap.size());
+        long[] wayThroughPipe = getWayThroughPipe(sourceMap, startPosition);
+        loopTracing.commit();
+        PhaseEvent interiorCounting = PhaseEvent.start(10, "count interior", wayThroughPipe.length);
+        long result = getLoopPolygon(wayThroughPipe).interiorPoints();
+        interiorCounting.commit();
+        return result;
     }
 
-    private static LinkedHashSet<Position> getWayThroughPipe(PipeMap map, Position startPosition) {
-        LinkedHashSet<Position> wayThroughPipe = new LinkedHashSet<>();
-        Position lastPosition = startPosition;
-        do {
-            wayThroughPipe.add(lastPosition);
-            lastPosition = map.getConnectedPoints(lastPosition).stream()
-                    .filter(Predicate.not(wayThroughPipe::contains))
-                    .findFirst()
-                    .orElse(null);
-        } while (lastPosition != null);
-        return wayThroughPipe;
+    private static Polygon getLoopPolygon(long[] wayThroughPipe) {
+        List<Position> vertices = new ArrayList<>(wayThroughPipe.length);
+        for (long position : wayThroughPipe) {
+            vertices.add(Position.unpack(position));
+        }
+        return new Polygon(vertices);
     }
 
-    private static Map<Position, Long> getUsedPipesMinDistances(PipeMap map, Position startPosition) {
-        List<List<Position>> unfinishedWays = new ArrayList<>();
-        List<List<Position>> finishedWays = new ArrayList<>();
-        unfinishedWays.add(List.of(startPosition));
-        while (!unfinishedWays.isEmpty()) {
-            List<List<Position>> newUnfinishedWays = new ArrayList<>();
-            for (List<Position> unfinishedWay : unfinishedWays) {
-                List<Position> nextStepTargets = map.getConnectedPoints(unfinishedWay.get(unfinishedWay.size() - 1)).stream()
-                        .filter(Predicate.not(unfinishedWay::contains))
-                        .toList();
-                if (nextStepTargets.isEmpty()) {
-                    finishedWays.add(unfinishedWay);
-                    continue;
-                }
-                for (Position connectedPosition : nextStepTargets) {
-                    ArrayList<Position> newWay = new ArrayList<>(unfinishedWay);
-                    newWay.add(connectedPosition);
-                    newUnfinishedWays.add(newWay);
+    private static long[] getWayThroughPipe(PipeMap map, long startPosition) {
+        LongSet visited = new LongSet(map.size());
+        long[] wayThroughPipe = new long[map.size()];
+        int length = 0;
+        long lastPosition = startPosition;
+        boolean found;
+        do {
+            visited.add(lastPosition);
+            wayThroughPipe[length++] = lastPosition;
+            found = false;
+            for (long connectedPoint : map.getConnectedPoints(lastPosition)) {
+                if (!visited.contains(connectedPoint)) {
+                    lastPosition = connectedPoint;
+                    found = true;
+                    break;
                 }
             }
-            unfinishedWays = newUnfinishedWays;
-        }
-        Map<Position, Long> minPositions = new HashMap<>();
-        for (List<Position> finishedWay : finishedWays) {
-            for (int i = 0; i < finishedWay.size(); i++) {
-                final long currentPos = i;
-                minPositions.compute(finishedWay.get(i), (key, oldValue) -> Math.min(Optional.ofNullable(oldValue).orElse(Long.MAX_VALUE), currentPos));
-            }
-        }
-        return minPositions;
+        } while (found);
+        return Arrays.copyOf(wayThroughPipe, length);
+    }
+
+    /**
+     * @return the distance from the start per {@link PipeMap#index(long)}, positions not on the loop are unreachable
+     */
+    private static int[] getLoopDistances(PipeMap map, long startPosition) {
+        return BreadthFirstSearch.distances(map, map.index(startPosition));
     }
 
-    private static Map.Entry<PipeMap, Position> getMapAndStartPosition(List<String> inputLines) {
-        Set<Pipe> result = new HashSet<>();
-        Position startPosition = null;
+    private static Map.Entry<PipeMap, Long> getMapAndStartPosition(List<String> inputLines) {
+        LongObjectMap<Pipe> result = new LongObjectMap<>();
+        long startPosition = 0;
         for (int y = 0; y < inputLines.size(); y++) {
             final String line = inputLines.get(y);
             for (int x = 0; x < line.length(); x++) {
                 String type = Character.toString(line.charAt(x));
                 PipeType pipeType = PipeType.getPipeType(type);
+                long position = Position.pack(x, y);
                 if (pipeType != null) {
-                    result.add(new Pipe(pipeType, new Position(x, y)));
+                    result.put(position, new Pipe(pipeType, position));
                 } else if ("S".equals(type)) {
-                    startPosition = new Position(x, y);
+                    startPosition = position;
                 } else if (!".".equals(type)) {
                     throw new IllegalStateException("unknown type found: " + type);
                 }
             }
         }
         final Pipe startPipe = getStartPointPipe(startPosition, result);
-        result.add(startPipe);
+        result.put(startPipe.position(), startPipe);
         return Map.entry(new PipeMap(result), startPipe.position());
     }
 
-    private static Pipe getStartPointPipe(Position startPosition, Set<Pipe> pipes) {
-        final Map<Position, Pipe> pipePositionLookup = pipes.stream()
-                .collect(Collectors.toMap(Pipe::position, Function.identity()));
+    private static Pipe getStartPointPipe(long startPosition, LongObjectMap<Pipe> pipePositionLookup) {
         for (PipeType pipeType : PipeType.values()) {
             Pipe pipe = new Pipe(pipeType, startPosition);
             boolean validType = true;
-            for (Position position : pipe.getConnectedPipesPositions()) {
+            for (long position : pipe.getConnectedPipesPositions()) {
                 Pipe other = pipePositionLookup.get(position);
                 if (other == null || !other.isConnectedTo(pipe)) {
                     validType = false;
@@ -186,10 +184,21 @@ public class Day10 {
         private static final Map<String, PipeType> REVERSE_LOOKUP = Stream.of(PipeType.values())
                 .collect(Collectors.toMap(pipeType -> pipeType.text, Function.identity()));
 
-        public List<Position> getConnections(Position position) {
-            return connections.stream()
-                    .map(position::moveTo)
-                    .toList();
+        public long[] getConnections(long position) {
+            long[] result = new long[connections.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = Position.moveTo(position, connections.get(i));
+            }
+            return result;
+        }
+
+        public boolean connectsTo(long position, long other) {
+            for (Direction connection : connections) {
+                if (Position.moveTo(position, connection) == other) {
+                    return true;
+                }
+            }
+            return false;
         }
 
         public static PipeType getPipeType(String text) {
@@ -197,107 +206,78 @@ public class Day10 {
         }
     }
 
-    private record PipeMap(Position min, Position max, Map<Position, Pipe> pipePositions) {
-        public PipeMap(Collection<Pipe> pipes) {
+    /**
+     * the pipes within their bounding box, as a graph the nodes are the positions of the box and the edges
+     * connect pipes which are connected to each other
+     */
+    private record PipeMap(Position min, Position max, LongObjectMap<Pipe> pipePositions) implements Graph {
+        public PipeMap(LongObjectMap<Pipe> pipes) {
             this(getMinMax(pipes), pipes);
         }
 
-        private PipeMap(Map.Entry<Position, Position> minMaxPosition, Collection<Pipe> pipes) {
-            this(minMaxPosition.getKey(), minMaxPosition.getValue(), pipes.stream().collect(Collectors.toMap(Pipe::position, Function.identity())));
+        private PipeMap(Map.Entry<Position, Position> minMaxPosition, LongObjectMap<Pipe> pipes) {
+            this(minMaxPosition.getKey(), minMaxPosition.getValue(), pipes);
         }
 
-        public PipeMap onlyWithPipesAt(Set<Position> positions) {
-            return new PipeMap(positions.stream().map(pipePositions::get).filter(Objects::nonNull).toList());
+        public int size() {
+            return pipePositions.size();
         }
 
-        public PipeMap withDoubledResolution() {
-            List<Pipe> newPositions = new ArrayList<>();
-            for (Pipe pipe : pipePositions.values()) {
-                Position scaledPosition = new Position(pipe.position().x() * 2, pipe.position().y() * 2);
-                newPositions.add(new Pipe(pipe.type(), scaledPosition));
-                Optional.ofNullable(pipePositions.get(pipe.position().moveTo(Direction.EAST)))
-                        .filter(rightSidePipe -> rightSidePipe.isConnectedTo(pipe))
-                        .ifPresent(rightSidePipe -> newPositions.add(new Pipe(PipeType.HORIZONTAL, scaledPosition.moveTo(Direction.EAST))));
-                Optional.ofNullable(pipePositions.get(pipe.position().moveTo(Direction.SOUTH)))
-                        .filter(downSidePipe -> downSidePipe.isConnectedTo(pipe))
-                        .ifPresent(downSidePipe -> newPositions.add(new Pipe(PipeType.VERTICAL, scaledPosition.moveTo(Direction.SOUTH))));
-            }
-            return new PipeMap(newPositions);
+        public int index(long position) {
+            return Math.toIntExact((Position.unpackY(position) - min.y()) * width() + Position.unpackX(position) - min.x());
         }
 
-        public Set<Position> getSpacesConnectedToOutside() {
-            Position start = min.moveTo(Direction.WEST).moveTo(Direction.NORTH);
-            Position end = max.moveTo(Direction.EAST).moveTo(Direction.SOUTH);
-
-            Set<Position> knownCandidatesPositions = new HashSet<>(List.of(start));
-            LinkedList<Position> positionsToCheck = new LinkedList<>(List.of(start));
-            while (!positionsToCheck.isEmpty()) {
-                final Position position = positionsToCheck.pop();
-                for (Position surroundingPoint : getSurroundingPoints(position)) {
-                    if (!knownCandidatesPositions.contains(surroundingPoint) && pipePositions.get(surroundingPoint) == null && isInGrid(position, start, end)) {
-                        knownCandidatesPositions.add(surroundingPoint);
-                        positionsToCheck.add(surroundingPoint);
-                    }
-                }
-            }
-            return knownCandidatesPositions;
+        private long width() {
+            return max.x() - min.x() + 1;
         }
 
-        private static Set<Position> getSurroundingPoints(Position p) {
-            return Set.of(p.moveTo(Direction.NORTH), p.moveTo(Direction.EAST), p.moveTo(Direction.SOUTH), p.moveTo(Direction.WEST));
+        @Override
+        public int nodeCount() {
+            return Math.toIntExact(width() * (max.y() - min.y() + 1));
         }
 
-        private static boolean isInGrid(Position position, Position min, Position max) {
-            return position.x() >= min.x() && position.x() <= max.x()
-                    && position.y() >= min.y() && position.y() <= max.y();
-        }
-
-        public Set<Position> getNonPipePositions() {
-            Set<Position> result = new HashSet<>();
-            for (long x = min.x(); x <= max.x(); x++) {
-                for (long y = min.y(); y <= max.y(); y++) {
-                    Position position = new Position(x, y);
-                    if (!pipePositions.containsKey(position)) {
-                        result.add(position);
-                    }
+        @Override
+        public void forEachEdge(int node, EdgeConsumer consumer) {
+            Pipe pipe = pipePositions.get(Position.pack(min.x() + node % width(), min.y() + node / width()));
+            if (pipe == null) {
+                return;
+            }
+            for (Direction connection : pipe.type().connections) {
+                long connectedPosition = Position.moveTo(pipe.position(), connection);
+                Pipe otherPipe = pipePositions.get(connectedPosition);
+                if (otherPipe != null && otherPipe.isConnectedTo(pipe)) {
+                    consumer.accept(index(connectedPosition), 1);
                 }
             }
-            return result;
         }
 
-        public List<Position> getConnectedPoints(Position point) {
+        public long[] getConnectedPoints(long point) {
             final Pipe pipe = pipePositions.get(point);
             if (pipe == null) {
-                return List.of();
+                return new long[0];
             }
-            return pipe.getConnectedPipesPositions().stream()
-                    .map(pipePositions::get)
-                    .filter(otherPipe -> otherPipe != null && otherPipe.isConnectedTo(pipe))
-                    .map(Pipe::position)
-                    .toList();
+            return LongStream.of(pipe.getConnectedPipesPositions())
+                    .filter(position -> {
+                        Pipe otherPipe = pipePositions.get(position);
+                        return otherPipe != null && otherPipe.isConnectedTo(pipe);
+                    })
+                    .toArray();
         }
 
-        private static Map.Entry<Position, Position> getMinMax(Collection<Pipe> pipes) {
-            TreeSet<Long> allX = new TreeSet<>();
-            TreeSet<Long> allY = new TreeSet<>();
-            for (Pipe pipe : pipes) {
-                allX.add(pipe.position().x());
-                allY.add(pipe.position().y());
-            }
-            return Map.entry(new Position(allX.first(), allY.first()), new Position(allX.last(), allY.last()));
+        private static Map.Entry<Position, Position> getMinMax(LongObjectMap<Pipe> pipes) {
+            LongSummaryStatistics allX = pipes.keys().map(Position::unpackX).summaryStatistics();
+            LongSummaryStatistics allY = pipes.keys().map(Position::unpackY).summaryStatistics();
+            return Map.entry(new Position(allX.getMin(), allY.getMin()), new Position(allX.getMax(), allY.getMax()));
         }
     }
 
-    private record Pipe(PipeType type, Position position) {
-        List<Position> getConnectedPipesPositions() {
+    private record Pipe(PipeType type, long position) {
+        long[] getConnectedPipesPositions() {
             return type.getConnections(position);
         }
 
         boolean isConnectedTo(Pipe other) {
-            if (!getConnectedPipesPositions().contains(other.position)) {
-                return false;
-            }
-            return other.getConnectedPipesPositions().contains(position);
+            return type.connectsTo(position, other.position) && other.type.connectsTo(other.position, position);
         }
     }
 }
@@ -6,9 +6,10 @@ import java.util.List;
 import java.util.TreeSet;
 import java.util.stream.LongStream;
 
+import de.habermehl.aventofcode.aoc2023.Solver;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day11 {
+public class Day11 implements Solver {
 
     private final List<Position> galaxyPositions;
 
@@ -20,10 +21,12 @@ public class Day11 {
         galaxyPositions = getGalaxyPositions(inputLines);
     }
 
+    @Override
     public long getPart1() {
         return getGalaxyDistanceSum(addSpaces(galaxyPositions, 2));
     }
 
+    @Override
     public long getPart2() {
         return getGalaxyDistanceSum(addSpaces(galaxyPositions, 1_000_000));
     }
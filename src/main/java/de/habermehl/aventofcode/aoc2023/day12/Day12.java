@@ -7,9 +7,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
+import de.habermehl.aventofcode.aoc2023.Solver;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day12 {
+public class Day12 implements Solver {
     private final List<Map.Entry<String, List<Integer>>> input;
 
     public Day12() throws IOException {
@@ -20,12 +21,14 @@ public class Day12 {
         input = getInputMap(inputLines);
     }
 
+    @Override
     public long getPart1() {
         return input.stream()
                 .mapToLong(entry -> getValidOptionsCached(entry.getKey(), entry.getValue(), new HashMap<>()))
                 .sum();
     }
 
+    @Override
     public long getPart2() {
         Map<String, Long> cache = new HashMap<>();
         return input.stream()
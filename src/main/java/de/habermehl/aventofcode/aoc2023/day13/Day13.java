@@ -7,9 +7,10 @@ import java.util.stream.Stream;
 
 import com.google.common.collect.Lists;
 
+import de.habermehl.aventofcode.aoc2023.Solver;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day13 {
+public class Day13 implements Solver {
 
     private final List<List<String>> maps;
 
@@ -23,12 +24,14 @@ public class Day13 {
                 .toList();
     }
 
+    @Override
     public long getPart1() {
         return maps.stream()
                 .mapToLong(map -> getPerfectReflectionRow(map, 0) * 100 + getPerfectReflectionRow(swap(map), 0))
                 .sum();
     }
 
+    @Override
     public long getPart2() {
         return maps.stream()
                 .mapToLong(map -> getPerfectReflectionRow(map, 1) * 100 + getPerfectReflectionRow(swap(map), 1))
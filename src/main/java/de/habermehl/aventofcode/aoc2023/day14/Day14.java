@@ -1,23 +1,21 @@
 package de.habermehl.aventofcode.aoc2023.day14;
 
 import java.io.IOException;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Stream;
 
-import com.google.common.collect.Iterators;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 
+import de.habermehl.aventofcode.aoc2023.Cycle;
 import de.habermehl.aventofcode.aoc2023.Direction;
+import de.habermehl.aventofcode.aoc2023.HotLoopCounter;
+import de.habermehl.aventofcode.aoc2023.LongSet;
 import de.habermehl.aventofcode.aoc2023.Position;
+import de.habermehl.aventofcode.aoc2023.Solver;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day14 {
+public class Day14 implements Solver {
 
     private final List<String> input;
 
@@ -29,43 +27,29 @@ public class Day14 {
         input = source;
     }
 
+    @Override
     public long getPart1() {
-        Grid grid = getGrid();
-        grid.move(Direction.NORTH);
-        return grid.getValue();
+        return getGrid().move(Direction.NORTH).getValue();
     }
 
+    @Override
     public long getPart2() {
-        final int targetRuns = 1000000000;
-        Grid grid = getGrid();
-        Map<Long, Integer> resultHashCycle = new HashMap<>();
-        int i = 0;
-        while (i < targetRuns) {
-            i++;
-            grid.moveCycle();
-            long hash = grid.getHash();
-            Integer cycleWithSameResult = resultHashCycle.get(hash);
-            if (cycleWithSameResult == null) {
-                resultHashCycle.put(hash, i);
-            } else {
-                int diff = i - cycleWithSameResult;
-                i = targetRuns - (targetRuns - i) % diff;
-            }
-        }
-        return grid.getValue();
+        return Cycle.findFirstRepeat(getGrid(), Grid::moveCycle, Grid::getHash)
+                .stateAt(1000000000L)
+                .getValue();
     }
 
     private Grid getGrid() {
-        Set<Position> rocks = new HashSet<>();
-        Set<Position> stones = new HashSet<>();
+        LongSet rocks = new LongSet();
+        LongSet stones = new LongSet();
         for (int y = 0; y < input.size(); y++) {
             String line = input.get(y);
             for (int x = 0; x < line.length(); x++) {
                 char c = line.charAt(x);
                 if (c == 'O') {
-                    stones.add(new Position(x, y));
+                    stones.add(Position.pack(x, y));
                 } else if (c == '#') {
-                    rocks.add(new Position(x, y));
+                    rocks.add(Position.pack(x, y));
                 }
             }
         }
@@ -77,7 +61,7 @@ public class Day14 {
                 if (min.x() <= x && x <= max.x() && min.y() <= y && y <= max.y()) {
                     continue;
                 }
-                rocks.add(new Position(x, y));
+                rocks.add(Position.pack(x, y));
             }
         }
         return new Grid(stones, rocks, min, max);
@@ -89,57 +73,51 @@ public class Day14 {
         System.out.println(day.getClass().getSimpleName() + " / part2: " + day.getPart2());
     }
 
-    private record Grid(Set<Position> stones, Set<Position> rocks, Position min, Position max) {
+    private record Grid(LongSet stones, LongSet rocks, Position min, Position max) {
         private static final Direction[] FULL_CYCLE = { Direction.NORTH, Direction.WEST, Direction.SOUTH, Direction.EAST };
 
         public long getValue() {
             return stones().stream()
-                    .mapToLong(position -> max.y() - position.y() + 1)
+                    .map(position -> max.y() - Position.unpackY(position) + 1)
                     .sum();
         }
 
-        void moveCycle() {
-            Stream.of(FULL_CYCLE)
-                    .forEach(this::move);
-        }
-
-        void move(Direction direction) {
-            Set<Position> newPositions = new HashSet<>();
-            while (!stones.isEmpty()) {
-                move(Iterators.consumingIterator(stones.iterator()).next(), direction, newPositions);
+        Grid moveCycle() {
+            HotLoopCounter.TILT_CYCLES.increment();
+            Grid result = this;
+            for (Direction direction : FULL_CYCLE) {
+                result = result.move(direction);
             }
-            stones.addAll(newPositions);
+            return result;
         }
 
-        private boolean move(Position p, Direction direction, Set<Position> newPositions) {
-            Position stone = p;
-            boolean moved = false;
-            while (true) {
-                Position targetPosition = stone.moveTo(direction);
-                if (rocks.contains(targetPosition) || newPositions.contains(targetPosition)) {
-                    // target already blocked by unmovable element
-                    newPositions.add(stone);
-                    return moved;
-                } else if (stones.contains(targetPosition)) {
-                    // target blocked by another stone - try to move that one first
-                    stones.remove(targetPosition);
-                    if (!move(targetPosition, direction, newPositions)) {
-                        // stone at target position couldn't be moved, this stone can't move either
-                        newPositions.add(stone);
-                        return moved;
-                    }
+        /**
+         * packed positions are ordered by x, then by y: stones are moved starting with the one
+         * nearest to the target side, so a stone is only ever blocked by rocks or already moved stones
+         */
+        Grid move(Direction direction) {
+            long[] sortedStones = stones.toArray();
+            Arrays.sort(sortedStones);
+            boolean ascending = direction.x() + direction.y() < 0;
+            LongSet newPositions = new LongSet(sortedStones.length);
+            for (int i = 0; i < sortedStones.length; i++) {
+                long stone = sortedStones[ascending ? i : sortedStones.length - 1 - i];
+                long targetPosition = Position.moveTo(stone, direction);
+                while (!rocks.contains(targetPosition) && !newPositions.contains(targetPosition)) {
+                    stone = targetPosition;
+                    targetPosition = Position.moveTo(stone, direction);
                 }
-                stone = targetPosition;
-                moved = true;
+                newPositions.add(stone);
             }
+            return new Grid(newPositions, rocks, min, max);
         }
 
         @SuppressWarnings("UnstableApiUsage")
         public long getHash() {
             final Hasher hasher = Hashing.farmHashFingerprint64().newHasher();
             stones.stream()
-                    .sorted(Comparator.comparing(Position::x).thenComparing(Position::y))
-                    .forEach(position -> hasher.putLong(position.x()).putLong(position.y()));
+                    .sorted()
+                    .forEach(position -> hasher.putLong(Position.unpackX(position)).putLong(Position.unpackY(position)));
             return hasher.hash().asLong();
         }
     }
@@ -1,8 +1,7 @@
 package de.habermehl.aventofcode.aoc2023.day15;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Comparator;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
@@ -11,9 +10,11 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.SymbolTable;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day15 {
+public class Day15 implements Solver {
     private static final Pattern COMMAND = Pattern.compile("^(\\w+)([-=])(\\d+)?$");
     private final String input;
 
@@ -25,46 +26,50 @@ public class Day15 {
         input = source.stream().filter(Predicate.not(String::isEmpty)).collect(Collectors.joining());
     }
 
+    @Override
     public long getPart1() {
         return Stream.of(input.split(",")).mapToInt(Day15::getHash).sum();
     }
 
+    /**
+     * lenses are identified by the interned label, their position in a box follows from the step that put them
+     * there first
+     */
+    @Override
     public long getPart2() {
-        final List<ArrayList<Integer>> boxes = getBoxes(input);
-        int result = 0;
-        for (int i = 0; i < boxes.size(); i++) {
-            ArrayList<Integer> box = boxes.get(i);
-            for (int j = 0; j < box.size(); j++) {
-                result += (i + 1) * (j + 1) * box.get(j);
-            }
-        }
-        return result;
-    }
-
-    private static List<ArrayList<Integer>> getBoxes(String input) {
-        final List<LinkedHashMap<String, Integer>> boxes = IntStream.range(0, 256)
-                .mapToObj(i -> new LinkedHashMap<String, Integer>())
-                .toList();
-        for (String s : input.split(",")) {
-            Matcher matcher = COMMAND.matcher(s);
+        String[] steps = input.split(",");
+        SymbolTable labels = new SymbolTable();
+        int[] focalLengths = new int[steps.length];
+        // 0 while the lens isn't in its box
+        int[] insertedAt = new int[steps.length];
+        for (int step = 0; step < steps.length; step++) {
+            Matcher matcher = COMMAND.matcher(steps[step]);
             if (!matcher.find()) {
                 continue;
             }
-            String label = matcher.group(1);
-            String value = matcher.group(2);
-            String focalLength = matcher.group(3);
-
-            int boxNo = getHash(label);
-            LinkedHashMap<String, Integer> box = boxes.get(boxNo);
-            if (value.startsWith("-")) {
-                box.remove(label);
+            int lens = labels.intern(matcher.group(1));
+            if (matcher.group(2).startsWith("-")) {
+                insertedAt[lens] = 0;
             } else {
-                box.put(label, Integer.valueOf(focalLength));
+                if (insertedAt[lens] == 0) {
+                    insertedAt[lens] = step + 1;
+                }
+                focalLengths[lens] = Integer.parseInt(matcher.group(3));
             }
         }
-        return boxes.stream()
-                .map(entries -> new ArrayList<>(entries.values()))
-                .toList();
+
+        int[] lensesPerBox = new int[256];
+        long result = 0;
+        for (int lens : IntStream.range(0, labels.size())
+                .filter(lens -> insertedAt[lens] != 0)
+                .boxed()
+                .sorted(Comparator.comparingInt(lens -> insertedAt[lens]))
+                .toList()) {
+            int box = getHash(labels.symbol(lens));
+            lensesPerBox[box]++;
+            result += (box + 1) * lensesPerBox[box] * focalLengths[lens];
+        }
+        return result;
     }
 
     private static int getHash(String text) {
@@ -1,101 +1,79 @@
 package de.habermehl.aventofcode.aoc2023.day16;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
+import de.habermehl.aventofcode.aoc2023.DenseGrid;
 import de.habermehl.aventofcode.aoc2023.Direction;
-import de.habermehl.aventofcode.aoc2023.Grid;
-import de.habermehl.aventofcode.aoc2023.Grid.GridEntry;
-import de.habermehl.aventofcode.aoc2023.Position;
+import de.habermehl.aventofcode.aoc2023.HotLoopCounter;
+import de.habermehl.aventofcode.aoc2023.Solver;
 import de.habermehl.aventofcode.aoc2023.Utils;
+import de.habermehl.aventofcode.aoc2023.graph.BreadthFirstSearch;
+import de.habermehl.aventofcode.aoc2023.graph.Graph;
 
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-
-public class Day16 {
-    private final Grid<Mirror> grid;
+public class Day16 implements Solver {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final Direction[][] PASS_THROUGH = Stream.of(DIRECTIONS)
+            .map(direction -> new Direction[] { direction })
+            .toArray(Direction[][]::new);
+    private final DenseGrid grid;
 
     public Day16() throws IOException {
-        this(Utils.getInput("aoc2023/day16/input"));
+        this(DenseGrid.ofDirect(Utils.getInputBytes("aoc2023/day16/input")));
     }
 
     Day16(List<String> inputLines) {
-        grid = getGrid(inputLines);
+        this(DenseGrid.of(inputLines));
+    }
+
+    Day16(DenseGrid grid) {
+        this.grid = checkGrid(grid);
     }
 
+    @Override
     public long getPart1() {
-        return getEnergizedFieldsAmount(new Ray(new Position(grid.min().x() - 1, grid.min().y()), Direction.EAST));
+        return getEnergizedFieldsAmount(0, 0, Direction.EAST);
     }
 
+    @Override
     public long getPart2() {
-        return getPart2InitialRays().stream()
-                .mapToLong(this::getEnergizedFieldsAmount)
-                .max()
-                .orElse(Long.MAX_VALUE);
+        long max = 0;
+        for (int x = 0; x < grid.width(); x++) {
+            max = Math.max(max, getEnergizedFieldsAmount(x, 0, Direction.SOUTH));
+            max = Math.max(max, getEnergizedFieldsAmount(x, grid.height() - 1, Direction.NORTH));
+        }
+        for (int y = 0; y < grid.height(); y++) {
+            max = Math.max(max, getEnergizedFieldsAmount(0, y, Direction.EAST));
+            max = Math.max(max, getEnergizedFieldsAmount(grid.width() - 1, y, Direction.WEST));
+        }
+        return max;
     }
 
-    private long getEnergizedFieldsAmount(Ray initialRay) {
-        Set<Ray> alreadyVisited = new HashSet<>();
-        LinkedList<Ray> rays = new LinkedList<>();
-        rays.add(initialRay);
-        while (!rays.isEmpty()) {
-            Ray ray = rays.removeFirst();
-            Position nextPosition = ray.getNextPosition();
-            if (!grid.isInGrid(nextPosition)) {
-                continue;
-            }
-            List<Direction> newDirections = grid.getEntry(nextPosition)
-                    .map(mirror -> mirror.getReflectionTargets(ray.direction().opposite()))
-                    .orElse(List.of(ray.direction()));
-            for (Direction newDirection : newDirections) {
-                Ray newRay = new Ray(nextPosition, newDirection);
-                if (alreadyVisited.add(newRay)) {
-                    rays.add(newRay);
+    private long getEnergizedFieldsAmount(int x, int y, Direction initialDirection) {
+        RayGraph graph = new RayGraph(grid);
+        int[] distances = BreadthFirstSearch.distances(graph, graph.ray(grid.index(x, y), initialDirection));
+        long energized = 0;
+        for (int index = 0; index < grid.size(); index++) {
+            for (Direction direction : DIRECTIONS) {
+                if (distances[graph.ray(index, direction)] != BreadthFirstSearch.UNREACHABLE) {
+                    energized++;
+                    break;
                 }
             }
         }
-        return alreadyVisited.stream().map(Ray::position).distinct().count();
+        return energized;
     }
 
-    private List<Ray> getPart2InitialRays() {
-        final List<Ray> initialRays = new ArrayList<>();
-        LongStream.rangeClosed(grid.min().x(), grid.max().x())
-                .mapToObj(x -> List.of(
-                        new Ray(new Position(x, -1), Direction.SOUTH),
-                        new Ray(new Position(x, grid.max().y() + 1), Direction.NORTH)))
-                .forEach(initialRays::addAll);
-        LongStream.rangeClosed(grid.min().y(), grid.max().y())
-                .mapToObj(y -> List.of(
-                        new Ray(new Position(-1, y), Direction.EAST),
-                        new Ray(new Position(grid.max().x() + 1, y), Direction.WEST)))
-                .forEach(initialRays::addAll);
-        return initialRays;
-    }
-
-    private static Grid<Mirror> getGrid(List<String> inputLines) {
-        List<Mirror> result = new ArrayList<>();
-        for (int y = 0; y < inputLines.size(); y++) {
-            final String line = inputLines.get(y);
-            for (int x = 0; x < line.length(); x++) {
-                String type = Character.toString(line.charAt(x));
-                MirrorType mirrorType = MirrorType.of(type);
-                if (mirrorType != null) {
-                    result.add(new Mirror(mirrorType, new Position(x, y)));
-                } else if (!".".equals(type)) {
-                    throw new IllegalStateException("unknown type found: " + type);
-                }
+    private static DenseGrid checkGrid(DenseGrid grid) {
+        for (int i = 0; i < grid.size(); i++) {
+            char type = (char) grid.get(i);
+            if (MirrorType.of(grid.get(i)) == null && type != '.') {
+                throw new IllegalStateException("unknown type found: " + type);
             }
         }
-        return new Grid(result);
+        return grid;
     }
 
     public static void main(String... args) throws IOException {
@@ -104,55 +82,80 @@ public class Day16 {
         System.out.println(day.getClass().getSimpleName() + " / part2: " + day.getPart2());
     }
 
-    @AllArgsConstructor
+    /**
+     * a ray is encoded as cell index * 4 + ordinal of the direction it is heading to
+     */
+    private record RayGraph(DenseGrid grid) implements Graph {
+        int ray(int index, Direction direction) {
+            return index * DIRECTIONS.length + direction.ordinal();
+        }
+
+        @Override
+        public int nodeCount() {
+            return grid.size() * DIRECTIONS.length;
+        }
+
+        @Override
+        public void forEachEdge(int ray, EdgeConsumer consumer) {
+            HotLoopCounter.RAYS_PROCESSED.increment();
+            int index = ray / DIRECTIONS.length;
+            Direction direction = DIRECTIONS[ray % DIRECTIONS.length];
+            MirrorType mirrorType = MirrorType.of(grid.get(index));
+            Direction[] newDirections = mirrorType == null ? PASS_THROUGH[direction.ordinal()] : mirrorType.getReflectionTargets(direction.opposite());
+            for (Direction newDirection : newDirections) {
+                int nextIndex = grid.neighbor(index, newDirection);
+                if (nextIndex >= 0) {
+                    consumer.accept(ray(nextIndex, newDirection), 1);
+                }
+            }
+        }
+    }
+
     private enum MirrorType {
-        SLASH("/", Map.of(
+        SLASH('/', Map.of(
                 Direction.NORTH, List.of(Direction.WEST),
                 Direction.WEST, List.of(Direction.NORTH),
                 Direction.EAST, List.of(Direction.SOUTH),
                 Direction.SOUTH, List.of(Direction.EAST)
         )),
-        BACKSLASH("\\", Map.of(
+        BACKSLASH('\\', Map.of(
                 Direction.NORTH, List.of(Direction.EAST),
                 Direction.WEST, List.of(Direction.SOUTH),
                 Direction.EAST, List.of(Direction.NORTH),
                 Direction.SOUTH, List.of(Direction.WEST)
         )),
-        PIPE("|", Map.of(
+        PIPE('|', Map.of(
                 Direction.WEST, List.of(Direction.NORTH, Direction.SOUTH),
                 Direction.EAST, List.of(Direction.NORTH, Direction.SOUTH)
         )),
-        DASH("-", Map.of(
+        DASH('-', Map.of(
                 Direction.NORTH, List.of(Direction.EAST, Direction.WEST),
                 Direction.SOUTH, List.of(Direction.EAST, Direction.WEST)
         ));
-        public static final Map<String, MirrorType> REVERSE_LOOKUP = Arrays.stream(MirrorType.values())
-                .collect(Collectors.toMap(MirrorType::getText, Function.identity()));
+        private static final MirrorType[] REVERSE_LOOKUP = new MirrorType[128];
 
-        @Getter
-        private final String text;
-        private final Map<Direction, List<Direction>> targets;
-
-        public static MirrorType of(String text) {
-            return REVERSE_LOOKUP.get(text);
+        static {
+            for (MirrorType mirrorType : values()) {
+                REVERSE_LOOKUP[mirrorType.text] = mirrorType;
+            }
         }
 
-        public List<Direction> getReflectionTargets(Direction sourceDirection) {
-            return targets.getOrDefault(sourceDirection, List.of(sourceDirection.opposite()));
-        }
-    }
+        private final char text;
+        private final Direction[][] targets;
 
-    //
+        MirrorType(char text, Map<Direction, List<Direction>> targets) {
+            this.text = text;
+            this.targets = Stream.of(Direction.values())
+                    .map(sourceDirection -> targets.getOrDefault(sourceDirection, List.of(sourceDirection.opposite())).toArray(Direction[]::new))
+                    .toArray(Direction[][]::new);
+        }
 
-    private record Ray(Position position, Direction direction) {
-        Position getNextPosition() {
-            return position.moveTo(direction);
+        public static MirrorType of(byte text) {
+            return text >= 0 ? REVERSE_LOOKUP[text] : null;
         }
-    }
 
-    private record Mirror(MirrorType type, Position position) implements GridEntry {
-        List<Direction> getReflectionTargets(Direction sourceDirection) {
-            return type.getReflectionTargets(sourceDirection);
+        public Direction[] getReflectionTargets(Direction sourceDirection) {
+            return targets[sourceDirection.ordinal()];
         }
     }
 }
@@ -1,79 +1,59 @@
 package de.habermehl.aventofcode.aoc2023.day17;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 
+import de.habermehl.aventofcode.aoc2023.DenseGrid;
 import de.habermehl.aventofcode.aoc2023.Direction;
-import de.habermehl.aventofcode.aoc2023.Grid;
-import de.habermehl.aventofcode.aoc2023.Grid.GridEntry;
-import de.habermehl.aventofcode.aoc2023.Position;
+import de.habermehl.aventofcode.aoc2023.DirectionSet;
+import de.habermehl.aventofcode.aoc2023.Solver;
 import de.habermehl.aventofcode.aoc2023.Utils;
+import de.habermehl.aventofcode.aoc2023.graph.Dijkstra;
+import de.habermehl.aventofcode.aoc2023.graph.Graph;
 
-public class Day17 {
-    private final Grid<NumberPosition> grid;
+public class Day17 implements Solver {
+    private static final int MAX_HEAT_LOSS = 9;
+    private final DenseGrid grid;
 
     public Day17() throws IOException {
-        this(Utils.getInput("aoc2023/day17/input"));
+        this(DenseGrid.ofDirect(Utils.getInputBytes("aoc2023/day17/input")));
     }
 
     Day17(List<String> inputLines) {
-        grid = getGrid(inputLines);
+        this(DenseGrid.of(inputLines));
     }
 
+    /**
+     * the digits of the given grid are replaced by their heat loss
+     */
+    Day17(DenseGrid grid) {
+        this.grid = toHeatLosses(grid);
+    }
+
+    @Override
     public long getPart1() {
         return getMinimumHeatLoss(1, 3);
     }
 
+    @Override
     public long getPart2() {
         return getMinimumHeatLoss(4, 10);
     }
 
     private long getMinimumHeatLoss(int minForwardSteps, int maxForwardSteps) {
-        Map<Step, Long> storedHeatLosses = new HashMap<>();
-        LinkedList<Step> steps = new LinkedList<>();
-        steps.add(new Step(grid.min(), Direction.EAST, 0));
-        steps.add(new Step(grid.min(), Direction.SOUTH, 0));
-        while (!steps.isEmpty()) {
-            Step previousStep = steps.removeFirst();
-            Direction lastDirection = previousStep.direction();
-            for (Direction newDirection : List.of(lastDirection.left(), lastDirection, lastDirection.right())) {
-                boolean changedDirection = newDirection != lastDirection;
-                if ((changedDirection && previousStep.forwardSteps() < minForwardSteps)
-                        || (!changedDirection && previousStep.forwardSteps() >= maxForwardSteps)) {
-                    continue;
-                }
-                Step nextStep = previousStep.moveTo(newDirection);
-                Long newHeatLoss = grid.getEntry(nextStep.position())
-                        .map(entry -> entry.number() + storedHeatLosses.getOrDefault(previousStep, 0L))
-                        .orElse(null);
-                Long lastCalculatedHeatLoss = storedHeatLosses.get(nextStep);
-                if (newHeatLoss != null && (lastCalculatedHeatLoss == null || newHeatLoss < lastCalculatedHeatLoss)) {
-                    storedHeatLosses.put(nextStep, newHeatLoss);
-                    steps.add(nextStep);
-                }
-            }
-        }
-        return storedHeatLosses.entrySet().stream()
-                .filter(wayPoint -> wayPoint.getKey().position().equals(grid.max()) && wayPoint.getKey().forwardSteps() >= minForwardSteps)
-                .mapToLong(Entry::getValue)
-                .min()
-                .orElse(Long.MIN_VALUE);
+        CrucibleGraph graph = new CrucibleGraph(grid, minForwardSteps, maxForwardSteps);
+        int end = grid.size() - 1;
+        long heatLoss = Dijkstra.bucketDistance(graph, MAX_HEAT_LOSS,
+                state -> graph.cell(state) == end && graph.forwardSteps(state) >= minForwardSteps,
+                graph.state(0, Direction.EAST, 0), graph.state(0, Direction.SOUTH, 0));
+        return heatLoss == Dijkstra.UNREACHABLE ? Long.MIN_VALUE : heatLoss;
     }
 
-    private static Grid<NumberPosition> getGrid(List<String> inputLines) {
-        List<NumberPosition> result = new ArrayList<>();
-        for (int y = 0; y < inputLines.size(); y++) {
-            final String line = inputLines.get(y);
-            for (int x = 0; x < line.length(); x++) {
-                result.add(new NumberPosition(new Position(x, y), Integer.parseInt(String.valueOf(line.charAt(x)))));
-            }
+    private static DenseGrid toHeatLosses(DenseGrid grid) {
+        for (int i = 0; i < grid.size(); i++) {
+            grid.set(i, (byte) Character.digit(grid.get(i), 10));
         }
-        return new Grid<>(result);
+        return grid;
     }
 
     public static void main(String... args) throws IOException {
@@ -82,12 +62,47 @@ public class Day17 {
         System.out.println(day.getClass().getSimpleName() + " / part2: " + day.getPart2());
     }
 
-    private record Step(Position position, Direction direction, int forwardSteps) {
-        Step moveTo(Direction newDirection) {
-            return new Step(position.moveTo(newDirection), newDirection, direction == newDirection ? forwardSteps + 1 : 1);
+    /**
+     * a state is a cell, the direction the crucible entered it and the amount of steps already made in
+     * that direction: (cell * 4 + direction) * (max forward steps + 1) + forward steps
+     */
+    private record CrucibleGraph(DenseGrid grid, int minForwardSteps, int maxForwardSteps) implements Graph {
+        int state(int cell, Direction direction, int forwardSteps) {
+            return (cell * DirectionSet.SIZE + direction.ordinal()) * (maxForwardSteps + 1) + forwardSteps;
+        }
+
+        int cell(int state) {
+            return state / (maxForwardSteps + 1) / DirectionSet.SIZE;
+        }
+
+        int forwardSteps(int state) {
+            return state % (maxForwardSteps + 1);
+        }
+
+        @Override
+        public int nodeCount() {
+            return grid.size() * DirectionSet.SIZE * (maxForwardSteps + 1);
         }
-    }
 
-    private record NumberPosition(Position position, int number) implements GridEntry {
+        @Override
+        public void forEachEdge(int state, EdgeConsumer consumer) {
+            int forwardSteps = forwardSteps(state);
+            Direction lastDirection = Direction.of(state / (maxForwardSteps + 1) % DirectionSet.SIZE);
+            int cell = cell(state);
+            if (forwardSteps >= minForwardSteps) {
+                move(cell, lastDirection.left(), 1, consumer);
+                move(cell, lastDirection.right(), 1, consumer);
+            }
+            if (forwardSteps < maxForwardSteps) {
+                move(cell, lastDirection, forwardSteps + 1, consumer);
+            }
+        }
+
+        private void move(int cell, Direction direction, int forwardSteps, EdgeConsumer consumer) {
+            int nextCell = grid.neighbor(cell, direction);
+            if (nextCell >= 0) {
+                consumer.accept(state(nextCell, direction, forwardSteps), grid.get(nextCell));
+            }
+        }
     }
 }
@@ -0,0 +1,23 @@
+package de.habermehl.aventofcode.aoc2023.day17;
+
+import java.util.List;
+
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.SolverFactory;
+
+public final class Day17SolverFactory implements SolverFactory {
+    @Override
+    public int day() {
+        return 17;
+    }
+
+    @Override
+    public Class<? extends Solver> type() {
+        return Day17.class;
+    }
+
+    @Override
+    public Solver create(List<String> inputLines) {
+        return new Day17(inputLines);
+    }
+}
@@ -2,28 +2,22 @@ package de.habermehl.aventofcode.aoc2023.day18;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+import de.habermehl.aventofcode.aoc2023.Answers;
 import de.habermehl.aventofcode.aoc2023.Direction;
+import de.habermehl.aventofcode.aoc2023.Polygon;
 import de.habermehl.aventofcode.aoc2023.Position;
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.TokenScanner;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day18 {
-
-    private static final Pattern PATTERN = Pattern.compile("(\\w+) (\\d+) \\(#(\\w{5})(\\w)\\)");
-    private static final Map<String, Direction> DIRECTION_MAPPING = Map.of(
-            "R", Direction.EAST,
-            "0", Direction.EAST,
-            "D", Direction.SOUTH,
-            "1", Direction.SOUTH,
-            "L", Direction.WEST,
-            "2", Direction.WEST,
-            "U", Direction.NORTH,
-            "3", Direction.NORTH
-    );
+public class Day18 implements Solver {
+
+    private static final String[] DIRECTION_NAMES = {"R", "D", "L", "U"};
+    private static final Direction[] DIRECTIONS = {Direction.EAST, Direction.SOUTH, Direction.WEST, Direction.NORTH};
     private final List<String> inputLines;
 
     public Day18() throws IOException {
@@ -34,43 +28,66 @@ public class Day18 {
         this.inputLines = inputLines;
     }
 
+    @Override
     public long getPart1() {
         return getArea(getInput(true));
     }
 
+    @Override
     public long getPart2() {
         return getArea(getInput(false));
     }
 
-    private long getArea(List<DiggingInstructions> instructions) {
-        long border = 0L;
-        long area = 0L;
-        Position position = new Position(0L, 0L);
-        for (DiggingInstructions instruction : instructions) {
-            position = position.moveTo(instruction.direction(), instruction.steps());
-            border += instruction.steps();
-            if (instruction.direction() == Direction.SOUTH) {
-                area += position.x() * instruction.steps();
-            } else if (instruction.direction() == Direction.NORTH) {
-                area -= position.x() * instruction.steps();
+    /**
+     * solves both parts within a single pass over the lines, which are consumed as they are read. only the
+     * current corner of each lagoon is kept, the area is accumulated edge by edge.
+     */
+    public static Answers solve(Stream<String> inputLines) {
+        Lagoon part1 = new Lagoon();
+        Lagoon part2 = new Lagoon();
+        for (Iterator<String> lines = inputLines.iterator(); lines.hasNext();) {
+            String inputLine = lines.next();
+            DiggingInstructions instruction = getInstruction(inputLine, true);
+            if (instruction != null) {
+                part1.dig(instruction);
+                part2.dig(getInstruction(inputLine, false));
             }
         }
-        return Math.abs(area) + border / 2 + 1;
+        return new Answers(part1.enclosedPoints(), part2.enclosedPoints());
+    }
+
+    private long getArea(List<DiggingInstructions> instructions) {
+        Lagoon lagoon = new Lagoon();
+        instructions.forEach(lagoon::dig);
+        return lagoon.enclosedPoints();
     }
 
     private List<DiggingInstructions> getInput(boolean part1) {
         List<DiggingInstructions> result = new ArrayList<>();
         for (String inputLine : inputLines) {
-            Matcher matcher = PATTERN.matcher(inputLine);
-            if (matcher.find()) {
-                long steps = part1 ? Long.parseLong(matcher.group(2)) : Long.valueOf(matcher.group(3), 16);
-                Direction direction = DIRECTION_MAPPING.get(matcher.group(part1 ? 1 : 4));
-                result.add(new DiggingInstructions(direction, steps));
+            DiggingInstructions instruction = getInstruction(inputLine, part1);
+            if (instruction != null) {
+                result.add(instruction);
             }
         }
         return result;
     }
 
+    private static DiggingInstructions getInstruction(String inputLine, boolean part1) {
+        TokenScanner scanner = TokenScanner.of(inputLine);
+        if (!scanner.hasNextWord()) {
+            return null;
+        }
+        int directionIndex = scanner.nextWordIndex(DIRECTION_NAMES);
+        long steps = scanner.nextLong();
+        if (!part1) {
+            scanner.skipPast('#');
+            steps = scanner.nextHex(5);
+            directionIndex = (int) scanner.nextHex(1);
+        }
+        return new DiggingInstructions(DIRECTIONS[directionIndex], steps);
+    }
+
     public static void main(String... args) throws IOException {
         Day18 day = new Day18();
         System.out.println(day.getClass().getSimpleName() + " / part1: " + day.getPart1());
@@ -79,4 +96,18 @@ public class Day18 {
 
     private record DiggingInstructions(Direction direction, long steps) {
     }
+
+    private static final class Lagoon {
+        private final Polygon.Outline outline = new Polygon.Outline();
+        private Position position = new Position(0L, 0L);
+
+        void dig(DiggingInstructions instruction) {
+            position = position.moveTo(instruction.direction(), instruction.steps());
+            outline.add(position);
+        }
+
+        long enclosedPoints() {
+            return outline.enclosedPoints();
+        }
+    }
 }
@@ -2,26 +2,28 @@ package de.habermehl.aventofcode.aoc2023.day19;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
-import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
+import de.habermehl.aventofcode.aoc2023.Answers;
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.SymbolTable;
+import de.habermehl.aventofcode.aoc2023.TokenScanner;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day19 {
-
-    private static final Pattern WORKFLOW = Pattern.compile("^(\\w+)\\{(.*)\\}");
-    private static final Pattern CONDITION = Pattern.compile("((\\w+)([<>])(\\d+):(\\w+)|(\\w+$))");
-    private static final Pattern VARIABLE = Pattern.compile("(\\w)=(\\d+)");
+public class Day19 implements Solver {
 
     private final List<String> inputLines;
+    private final SymbolTable workflowNames = new SymbolTable();
+    private final SymbolTable categories = new SymbolTable();
+    private final int accepted = workflowNames.intern("A");
+    private final int rejected = workflowNames.intern("R");
+    /**
+     * indexed by the id of the workflow name, without entries for accepted and rejected
+     */
+    private final Workflow[] workflows;
 
     public Day19() throws IOException {
         this(Utils.getInput("aoc2023/day19/input"));
@@ -29,112 +31,151 @@ public class Day19 {
 
     Day19(List<String> inputLines) {
         this.inputLines = inputLines;
+        List.of("x", "m", "a", "s").forEach(categories::intern);
+        workflows = loadWorkflows();
     }
 
+    @Override
     public long getPart1() {
-        Map<String, Workflow> workflows = loadWorkflows().stream()
-                .collect(Collectors.toMap(Workflow::name, Function.identity()));
-        long value = 0;
-        for (Map<String, Long> ratings : loadRatings()) {
-            String target = workflows.get("in").getTarget(ratings);
-            while (!"R".equals(target) && !"A".equals(target)) {
-                target = workflows.get(target).getTarget(ratings);
-            }
-            if ("A".equals(target)) {
-                value += ratings.values().stream().mapToLong(Long::longValue).sum();
-            }
-        }
-        return value;
+        return inputLines.stream().mapToLong(this::getAcceptedRating).sum();
     }
 
+    @Override
     public long getPart2() {
-        Map<String, Workflow> workflows = loadWorkflows().stream()
-                .collect(Collectors.toMap(Workflow::name, Function.identity()));
-        return getAcceptedConditionPaths("in", workflows, List.of()).stream()
+        return getAcceptedConditionPaths(workflowNames.id("in"), List.of()).stream()
                 .mapToLong(this::getAcceptedCombinations)
                 .sum();
     }
 
-    private long getAcceptedCombinations(List<Condition> conditions) {
-        Map<String, Set<Long>> acceptedRatings = new HashMap<>();
-        for (String key : List.of("x", "m", "a", "s")) {
-            acceptedRatings.put(key, LongStream.rangeClosed(1, 4000).boxed().collect(Collectors.toSet()));
+    /**
+     * solves both parts within a single pass over the lines: the workflows precede the ratings, so each part
+     * can be rated as soon as its line is read
+     */
+    public static Answers solve(Stream<String> inputLines) {
+        Iterator<String> lines = inputLines.iterator();
+        List<String> workflowLines = new ArrayList<>();
+        String firstRatingLine = null;
+        while (firstRatingLine == null && lines.hasNext()) {
+            String inputLine = lines.next();
+            if (inputLine.startsWith("{")) {
+                firstRatingLine = inputLine;
+            } else {
+                workflowLines.add(inputLine);
+            }
         }
+        Day19 day = new Day19(workflowLines);
+        long part1 = firstRatingLine == null ? 0 : day.getAcceptedRating(firstRatingLine);
+        while (lines.hasNext()) {
+            part1 += day.getAcceptedRating(lines.next());
+        }
+        return new Answers(part1, day.getPart2());
+    }
+
+    /**
+     * @return the sum of the ratings if the part is accepted, 0 if it is rejected or the line contains no part
+     */
+    private long getAcceptedRating(String inputLine) {
+        long[] ratings = getRatings(inputLine);
+        if (ratings == null) {
+            return 0;
+        }
+        int target = workflowNames.id("in");
+        while (target != rejected && target != accepted) {
+            target = workflows[target].getTarget(ratings);
+        }
+        return target == accepted ? Arrays.stream(ratings).sum() : 0;
+    }
+
+    private long getAcceptedCombinations(List<Condition> conditions) {
+        long[] minimums = new long[categories.size()];
+        long[] maximums = new long[categories.size()];
+        Arrays.fill(minimums, 1);
+        Arrays.fill(maximums, 4000);
         for (Condition condition : conditions) {
-            Set<Long> longs = acceptedRatings.get(condition.ratingKey());
-            if (longs == null) {
-                continue;
-            }
             if ("<".equals(condition.operator())) {
-                LongStream.rangeClosed(condition.rating(), 4000).forEach(longs::remove);
+                maximums[condition.category()] = Math.min(maximums[condition.category()], condition.rating() - 1);
             } else {
-                LongStream.rangeClosed(1, condition.rating()).forEach(longs::remove);
+                minimums[condition.category()] = Math.max(minimums[condition.category()], condition.rating() + 1);
             }
         }
-        return acceptedRatings.values().stream().mapToLong(Set::size).reduce(1, (a, b) -> a * b);
+        long result = 1;
+        for (int category = 0; category < categories.size(); category++) {
+            result *= Math.max(0, maximums[category] - minimums[category] + 1);
+        }
+        return result;
     }
 
-    List<List<Condition>> getAcceptedConditionPaths(String workflowName, Map<String, Workflow> workflows, List<Condition> currentConditions) {
-        if ("A".equals(workflowName)) {
+    List<List<Condition>> getAcceptedConditionPaths(int workflow, List<Condition> currentConditions) {
+        if (workflow == accepted) {
             return List.of(currentConditions);
-        } else if ("R".equals(workflowName)) {
+        } else if (workflow == rejected) {
             return List.of();
         }
         List<List<Condition>> result = new ArrayList<>();
         List<Condition> invertedConditions = new ArrayList<>();
-        for (Condition condition : workflows.get(workflowName).conditions()) {
+        for (Condition condition : workflows[workflow].conditions()) {
             List<Condition> newConditions = new ArrayList<>(currentConditions);
             newConditions.addAll(invertedConditions);
-            if (condition.ratingKey() != null) {
+            if (condition.category() != SymbolTable.UNKNOWN) {
                 newConditions.add(condition);
                 invertedConditions.add(condition.invert());
             }
-            result.addAll(getAcceptedConditionPaths(condition.target(), workflows, newConditions));
+            result.addAll(getAcceptedConditionPaths(condition.target(), newConditions));
         }
         return result;
     }
 
-    private List<Workflow> loadWorkflows() {
-        List<Workflow> workflows = new ArrayList<>();
+    private Workflow[] loadWorkflows() {
+        List<Workflow> loaded = new ArrayList<>();
         for (String inputLine : inputLines) {
-            Matcher matcher = WORKFLOW.matcher(inputLine);
-            if (matcher.find()) {
-                Workflow workflow = createWorkflow(matcher.group(1), matcher.group(2));
-                workflows.add(workflow);
+            TokenScanner scanner = TokenScanner.of(inputLine);
+            if (scanner.hasNextWord() && !inputLine.startsWith("{")) {
+                String name = scanner.nextWord();
+                if (scanner.skip('{')) {
+                    loaded.add(createWorkflow(name, scanner));
+                }
             }
         }
-        return workflows;
+        Workflow[] result = new Workflow[workflowNames.size()];
+        loaded.forEach(workflow -> result[workflow.id()] = workflow);
+        return result;
     }
 
-    private Workflow createWorkflow(String name, String conditionsValue) {
+    private Workflow createWorkflow(String name, TokenScanner scanner) {
+        int id = workflowNames.intern(name);
         List<Condition> conditions = new ArrayList<>();
-        for (String condition : conditionsValue.split(",")) {
-            Matcher matcher = CONDITION.matcher(condition);
-            while (matcher.find()) {
-                if (matcher.group(6) == null) {
-                    conditions.add(new Condition(matcher.group(2), matcher.group(3), Long.valueOf(matcher.group(4)), matcher.group(5)));
-                } else {
-                    conditions.add(Condition.otherwise(matcher.group(6)));
-                }
+        while (scanner.hasNextWord()) {
+            String word = scanner.nextWord();
+            String operator = scanner.skip('<') ? "<" : scanner.skip('>') ? ">" : null;
+            if (operator == null) {
+                conditions.add(Condition.otherwise(workflowNames.intern(word)));
+            } else {
+                long rating = scanner.nextLong();
+                scanner.skip(':');
+                conditions.add(new Condition(categories.intern(word), operator, rating, workflowNames.intern(scanner.nextWord())));
             }
         }
-        return new Workflow(name, conditions);
+        return new Workflow(id, name, conditions);
     }
 
-    private List<Map<String, Long>> loadRatings() {
-        List<Map<String, Long>> result = new ArrayList<>();
-        for (String inputLine : inputLines) {
-            if (!inputLine.startsWith("{")) {
-                continue;
-            }
-            Map<String, Long> variables = new HashMap<>();
-            Matcher matcher = VARIABLE.matcher(inputLine);
-            while (matcher.find()) {
-                variables.put(matcher.group(1), Long.valueOf(matcher.group(2)));
+    /**
+     * @return the ratings of the part indexed by the id of their category, null if the line contains no part
+     */
+    private long[] getRatings(String inputLine) {
+        if (!inputLine.startsWith("{")) {
+            return null;
+        }
+        long[] ratings = new long[categories.size()];
+        TokenScanner scanner = TokenScanner.of(inputLine);
+        while (scanner.hasNextWord()) {
+            int category = categories.id(scanner.nextWord());
+            if (category == SymbolTable.UNKNOWN) {
+                throw new IllegalArgumentException("unknown category in " + inputLine);
             }
-            result.add(variables);
+            scanner.skip('=');
+            ratings[category] = scanner.nextLong();
         }
-        return result;
+        return ratings;
     }
 
     public static void main(String... args) throws IOException {
@@ -143,39 +184,37 @@ public class Day19 {
         System.out.println(day.getClass().getSimpleName() + " / part2: " + day.getPart2());
     }
 
-    private record Workflow(String name, List<Condition> conditions) {
-        public String getTarget(Map<String, Long> ratings) {
+    private record Workflow(int id, String name, List<Condition> conditions) {
+        public int getTarget(long[] ratings) {
             for (Condition condition : conditions) {
-                String target = condition.getTarget(ratings).orElse(null);
-                if (target != null) {
-                    return target;
+                if (condition.matches(ratings)) {
+                    return condition.target();
                 }
             }
-            throw new IllegalStateException("unexpected state: no condition matches for " + name + " / " + ratings);
+            throw new IllegalStateException("unexpected state: no condition matches for " + name + " / " + Arrays.toString(ratings));
         }
     }
 
-    private record Condition(String ratingKey, String operator, Long rating, String target) {
-        public static Condition otherwise(String target) {
-            return new Condition(null, null, null, target);
+    private record Condition(int category, String operator, long rating, int target) {
+        public static Condition otherwise(int target) {
+            return new Condition(SymbolTable.UNKNOWN, null, 0, target);
         }
 
-        public Optional<String> getTarget(Map<String, Long> ratings) {
-            if (ratingKey == null) {
-                return Optional.of(target);
+        public boolean matches(long[] ratings) {
+            if (category == SymbolTable.UNKNOWN) {
+                return true;
             }
-            boolean matches = switch (operator) {
-                case "<" -> ratings.get(ratingKey) < rating;
-                case ">" -> ratings.get(ratingKey) > rating;
+            return switch (operator) {
+                case "<" -> ratings[category] < rating;
+                case ">" -> ratings[category] > rating;
                 default -> false;
             };
-            return matches ? Optional.of(target) : Optional.empty();
         }
 
         public Condition invert() {
             return switch (operator) {
-                case "<" -> new Condition(ratingKey, ">", rating - 1, target);
-                case ">" -> new Condition(ratingKey, "<", rating + 1, target);
+                case "<" -> new Condition(category, ">", rating - 1, target);
+                case ">" -> new Condition(category, "<", rating + 1, target);
                 default -> throw new IllegalStateException(this + " is not invertible");
             };
         }
@@ -1,111 +1,149 @@
 package de.habermehl.aventofcode.aoc2023.day20;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Queue;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import com.google.common.base.Strings;
-import com.google.common.collect.HashMultiset;
-import com.google.common.collect.Multiset;
-
+import de.habermehl.aventofcode.aoc2023.Congruence;
+import de.habermehl.aventofcode.aoc2023.HotLoopCounter;
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.SymbolTable;
+import de.habermehl.aventofcode.aoc2023.TokenScanner;
 import de.habermehl.aventofcode.aoc2023.Utils;
 import de.habermehl.aventofcode.aoc2023.day20.Day20.Module.Type;
 
 import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-
-public class Day20 {
 
-    private static final Pattern PATTERN = Pattern.compile("^([&%]?)(\\w+) -> (.*)");
-    private static final Module BUTTON = Module.builder().name("button").type(Type.BROADCAST).targets(List.of("broadcaster")).build();
+public class Day20 implements Solver {
 
-    private final List<String> inputLines;
+    private final SymbolTable moduleNames = new SymbolTable();
+    private final int button = moduleNames.intern("button");
+    private final int broadcaster = moduleNames.intern("broadcaster");
+    /**
+     * the modules indexed by the id of their name, only read while solving
+     */
+    private final Module[] modules;
 
     public Day20() throws IOException {
         this(Utils.getInput("aoc2023/day20/input"));
     }
 
     Day20(List<String> inputLines) {
-        this.inputLines = inputLines;
+        modules = loadModules(inputLines);
     }
 
+    @Override
     public long getPart1() {
-        Map<String, Module> modules = loadModules().stream()
-                .collect(Collectors.toMap(Module::getName, Function.identity()));
+        Circuit circuit = new Circuit(modules);
 
-        Multiset<Signal> sentSignals = HashMultiset.create();
+        long[] sentSignals = new long[Signal.values().length];
+        Queue<SignalTarget> queue = new ArrayDeque<>();
         for (int i = 0; i < 1000; i++) {
-            final LinkedList<SignalTarget> queue = new LinkedList<>(BUTTON.getSignals(null, Signal.LOW));
-            while (!queue.isEmpty()) {
-                SignalTarget signalTarget = queue.removeFirst();
-                sentSignals.add(signalTarget.signal());
-                queue.addAll(modules.get(signalTarget.target()).getSignals(signalTarget.source(), signalTarget.signal()));
+            queue.add(new SignalTarget(Signal.LOW, button, broadcaster));
+            SignalTarget signalTarget;
+            while ((signalTarget = queue.poll()) != null) {
+                HotLoopCounter.PULSES_SENT.increment();
+                sentSignals[signalTarget.signal().ordinal()]++;
+                circuit.sendSignals(signalTarget, queue);
             }
         }
 
-        return sentSignals.entrySet().stream().mapToLong(Multiset.Entry::getCount).reduce(1, (a, b) -> a * b);
+        return Arrays.stream(sentSignals).filter(count -> count > 0).reduce(1, (a, b) -> a * b);
     }
 
+    /**
+     * the module sending to rx needs a HIGH pulse from all of its sources within the same run: each source
+     * is assumed to send them periodically, the period is taken from its first two HIGH pulses
+     */
+    @Override
     public long getPart2() {
-        Map<String, Module> modules = loadModules().stream()
-                .collect(Collectors.toMap(Module::getName, Function.identity()));
-
-        Map<String, Long> watchTargets = modules.values().stream()
-                .filter(module -> module.getTargets().contains("rx"))
-                .flatMap(rxSource -> rxSource.getLastReceivedSignals().keySet().stream().map(source -> rxSource.getName() + "." + source))
-                .collect(Collectors.toMap(Function.identity(), source -> Long.MIN_VALUE));
-
-        AtomicLong run = new AtomicLong(0);
-        while (true) {
-            run.incrementAndGet();
-            final LinkedList<SignalTarget> queue = new LinkedList<>(BUTTON.getSignals(null, Signal.LOW));
-            while (!queue.isEmpty()) {
-                SignalTarget signalTarget = queue.removeFirst();
-                if (signalTarget.signal == Signal.HIGH) {
-                    watchTargets.computeIfPresent(signalTarget.target() + "." + signalTarget.source.getName(),
-                            (key, oldValue) -> oldValue == Long.MIN_VALUE ? run.get() : oldValue);
-                }
-                queue.addAll(modules.get(signalTarget.target()).getSignals(signalTarget.source(), signalTarget.signal()));
+        Circuit circuit = new Circuit(modules);
+
+        // keyed by target * modules + source
+        Map<Integer, List<Long>> watchTargets = new LinkedHashMap<>();
+        int rx = moduleNames.id("rx");
+        for (Module rxSource : modules) {
+            if (Arrays.stream(rxSource.targets()).anyMatch(target -> target == rx)) {
+                rxSource.sources().stream()
+                        .forEach(source -> watchTargets.put(rxSource.id() * modules.length + source, new ArrayList<>()));
             }
+        }
 
-            if (!watchTargets.containsValue(Long.MIN_VALUE)) {
-                return watchTargets.values().stream().mapToLong(Long::longValue).reduce(1, Utils::getLeastCommonMultiple);
+        long run = 0;
+        Queue<SignalTarget> queue = new ArrayDeque<>();
+        while (watchTargets.values().stream().anyMatch(highPulseRuns -> highPulseRuns.size() < 2)) {
+            run++;
+            queue.add(new SignalTarget(Signal.LOW, button, broadcaster));
+            SignalTarget signalTarget;
+            while ((signalTarget = queue.poll()) != null) {
+                HotLoopCounter.PULSES_SENT.increment();
+                if (signalTarget.signal() == Signal.HIGH) {
+                    List<Long> highPulseRuns = watchTargets.get(signalTarget.target() * modules.length + signalTarget.source());
+                    if (highPulseRuns != null && highPulseRuns.size() < 2 && !highPulseRuns.contains(run)) {
+                        highPulseRuns.add(run);
+                    }
+                }
+                circuit.sendSignals(signalTarget, queue);
             }
         }
+
+        Congruence allHighPulses = Congruence.ALL;
+        long earliestRun = 1;
+        for (List<Long> highPulseRuns : watchTargets.values()) {
+            allHighPulses = allHighPulses.combine(new Congruence(highPulseRuns.get(0), highPulseRuns.get(1) - highPulseRuns.get(0)))
+                    .orElseThrow(() -> new IllegalStateException("the sources of rx never send HIGH pulses within the same run"));
+            earliestRun = Math.max(earliestRun, highPulseRuns.get(0));
+        }
+        return allHighPulses.firstAtLeast(earliestRun);
     }
 
-    private List<Module> loadModules() {
-        Map<String, Module> modules = new ConcurrentHashMap<>();
+    /**
+     * @return the modules indexed by the id of their name, targets without a definition are NOOP modules
+     */
+    private Module[] loadModules(List<String> inputLines) {
+        List<Module> loaded = new ArrayList<>();
+        loaded.add(new Module(button, Type.BROADCAST, new int[] { broadcaster }, new BitSet()));
         for (String inputLine : inputLines) {
-            Matcher matcher = PATTERN.matcher(inputLine);
-            if (matcher.find()) {
-                String type = Strings.nullToEmpty(matcher.group(1));
-                String name = matcher.group(2);
-                List<String> targets = Stream.of(matcher.group(3).split(",")).map(String::trim).toList();
-                modules.put(name, Module.builder().name(name).type(Type.of(type)).targets(targets).build());
+            TokenScanner scanner = TokenScanner.of(inputLine);
+            String type = scanner.skip('%') ? "%" : scanner.skip('&') ? "&" : "";
+            if (!scanner.hasNextWord()) {
+                continue;
+            }
+            int id = moduleNames.intern(scanner.nextWord());
+            scanner.skipWhitespace();
+            if (scanner.skip("->")) {
+                List<Integer> targets = new ArrayList<>();
+                while (scanner.hasNextWord()) {
+                    targets.add(moduleNames.intern(scanner.nextWord()));
+                }
+                loaded.add(new Module(id, Type.of(type), targets.stream().mapToInt(Integer::intValue).toArray(), new BitSet()));
             }
         }
-        for (Module module : modules.values()) {
-            if (module.getType() == Type.BROADCAST) {
+        Module[] result = new Module[moduleNames.size()];
+        loaded.forEach(module -> result[module.id()] = module);
+        for (int id = 0; id < result.length; id++) {
+            if (result[id] == null) {
+                result[id] = new Module(id, Type.NOOP, new int[0], new BitSet());
+            }
+        }
+        for (Module module : result) {
+            if (module.id() == button) {
                 continue;
             }
-            for (String target : module.getTargets()) {
-                Module targetModule = modules.computeIfAbsent(target, key -> Module.builder().name(target).type(Type.NOOP).targets(List.of()).build());
-                targetModule.registerSource(module.getName());
+            for (int target : module.targets()) {
+                result[target].sources().set(module.id());
             }
         }
-        return new ArrayList<>(modules.values());
+        return result;
     }
 
     public static void main(String... args) throws IOException {
@@ -114,47 +152,10 @@ public class Day20 {
         System.out.println(day.getClass().getSimpleName() + " / part2: " + day.getPart2());
     }
 
-    @AllArgsConstructor
-    @Builder
-    @Data
-    static final class Module {
-        private final String name;
-        private final Type type;
-        private final List<String> targets;
-        private final Map<String, Signal> lastReceivedSignals = new HashMap<>();
-        private boolean active;
-
-        public List<SignalTarget> getSignals(Module source, Signal signal) {
-            return switch (type) {
-                case NOOP -> List.of();
-                case BROADCAST -> getSignals(signal);
-                case FLIP_FLOP -> getFlipFlopSignals(signal);
-                case CONJUNCTION -> getConjunctionSignals(source, signal);
-            };
-        }
-
-        public void registerSource(String name) {
-            lastReceivedSignals.put(name, Signal.LOW);
-        }
-
-        private List<SignalTarget> getFlipFlopSignals(Signal signal) {
-            if (signal == Signal.HIGH) {
-                return List.of();
-            }
-            active = !active;
-            return getSignals(active ? Signal.HIGH : Signal.LOW);
-        }
-
-        private List<SignalTarget> getConjunctionSignals(Module source, Signal signal) {
-            lastReceivedSignals.put(source.getName(), signal);
-            Signal sendSignal = lastReceivedSignals.values().stream().anyMatch(Signal.LOW::equals) ? Signal.HIGH : Signal.LOW;
-            return getSignals(sendSignal);
-        }
-
-        private List<SignalTarget> getSignals(Signal signal) {
-            return targets.stream().map(target -> new SignalTarget(signal, this, target)).toList();
-        }
-
+    /**
+     * a module as defined by the input, the sources are the modules sending to it
+     */
+    record Module(int id, Type type, int[] targets, BitSet sources) {
         @AllArgsConstructor
         enum Type {
             NOOP(null),
@@ -173,7 +174,54 @@ public class Day20 {
         }
     }
 
-    record SignalTarget(Signal signal, Module source, String target) {
+    /**
+     * the state of the flip-flop and conjunction modules during one solve
+     */
+    static final class Circuit {
+        private final Module[] modules;
+        private final boolean[] active;
+        private final BitSet[] highSources;
+
+        Circuit(Module[] modules) {
+            this.modules = modules;
+            this.active = new boolean[modules.length];
+            this.highSources = Stream.generate(BitSet::new).limit(modules.length).toArray(BitSet[]::new);
+        }
+
+        public void sendSignals(SignalTarget signalTarget, Queue<SignalTarget> queue) {
+            Module module = modules[signalTarget.target()];
+            switch (module.type()) {
+                case NOOP -> {
+                    // nothing to send
+                }
+                case BROADCAST -> sendSignals(module, signalTarget.signal(), queue);
+                case FLIP_FLOP -> sendFlipFlopSignals(module, signalTarget.signal(), queue);
+                case CONJUNCTION -> sendConjunctionSignals(module, signalTarget.source(), signalTarget.signal(), queue);
+            }
+        }
+
+        private void sendFlipFlopSignals(Module module, Signal signal, Queue<SignalTarget> queue) {
+            if (signal == Signal.HIGH) {
+                return;
+            }
+            active[module.id()] = !active[module.id()];
+            sendSignals(module, active[module.id()] ? Signal.HIGH : Signal.LOW, queue);
+        }
+
+        private void sendConjunctionSignals(Module module, int source, Signal signal, Queue<SignalTarget> queue) {
+            BitSet moduleHighSources = highSources[module.id()];
+            moduleHighSources.set(source, signal == Signal.HIGH);
+            sendSignals(module, moduleHighSources.equals(module.sources()) ? Signal.LOW : Signal.HIGH, queue);
+        }
+
+        private void sendSignals(Module module, Signal signal, Queue<SignalTarget> queue) {
+            for (int target : module.targets()) {
+                queue.add(new SignalTarget(signal, module.id(), target));
+            }
+        }
+    }
+
+    record SignalTarget(Signal signal, int source, int target) {
     }
 
     enum Signal {
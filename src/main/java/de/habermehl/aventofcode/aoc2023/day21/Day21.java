@@ -2,45 +2,44 @@ package de.habermehl.aventofcode.aoc2023.day21;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 
-import de.habermehl.aventofcode.aoc2023.Direction;
+import de.habermehl.aventofcode.aoc2023.DenseGrid;
+import de.habermehl.aventofcode.aoc2023.DirectionSet;
+import de.habermehl.aventofcode.aoc2023.LongSet;
 import de.habermehl.aventofcode.aoc2023.Position;
+import de.habermehl.aventofcode.aoc2023.Solver;
 import de.habermehl.aventofcode.aoc2023.Utils;
+import de.habermehl.aventofcode.aoc2023.graph.BreadthFirstSearch;
+import de.habermehl.aventofcode.aoc2023.graph.Graph;
 
-public class Day21 {
-    private final Set<Position> stones;
-    private final Position startPosition;
+public class Day21 implements Solver {
+    private final LongSet stones;
+    private final long startPosition;
     private final int width;
     private final int height;
 
     public Day21() throws IOException {
-        this(Utils.getInput("aoc2023/day21/input"));
+        this(DenseGrid.ofDirect(Utils.getInputBytes("aoc2023/day21/input")));
     }
 
     Day21(List<String> inputLines) {
-        Entry<Position, Set<Position>> input = getGrid(inputLines);
+        this(DenseGrid.of(inputLines));
+    }
+
+    Day21(DenseGrid grid) {
+        Entry<Long, LongSet> input = getGrid(grid);
         stones = input.getValue();
         startPosition = input.getKey();
-        width = inputLines.get(0).length();
-        height = inputLines.size();
+        width = grid.width();
+        height = grid.height();
     }
 
+    @Override
     public long getPart1() {
-        List<Position> positions = List.of(startPosition);
-        for (int i = 0; i < 64; i++) {
-            positions = positions.stream()
-                    .map(Day21::getSurroundingPoints)
-                    .flatMap(List::stream)
-                    .distinct()
-                    .filter(this::isEmptyField)
-                    .toList();
-        }
-        return positions.size();
+        return getReachablePositionsAmounts(64)[64];
     }
 
     /**
@@ -49,61 +48,89 @@ public class Day21 {
      * this growth can be calculated with a polynomial, e.g. a*((n*(n-1))/2) + bn + c
      * where target n is 202300
      */
+    @Override
     public long getPart2() {
         long target = 26501365;
         long n = Math.floorDiv(target, width); // should be 202300 in our case
-        List<Integer> factors = new ArrayList<>();
-        List<Position> positions = List.of(startPosition);
-        int i = 0;
-        while (true) {
-            i++;
-            positions = positions.stream()
-                    .map(Day21::getSurroundingPoints)
-                    .flatMap(List::stream)
-                    .distinct()
-                    .filter(this::isEmptyField)
-                    .toList();
-
-            if (i % width == target % width) {
-                factors.add(positions.size());
-                if (factors.size() == 3) {
-                    // target function is f(n) = a*(n*(n-1)/2) + b*n + c
-                    // we have points n=0, n=1, n=2 and need f(n), for n=202300
-
-                    // a*(0*(0-1)/2) + b*0 + c = factors.get(0) --> a*0 + b*0 + c = factors.get(0) --> c = factors.get(0)
-                    long c = factors.get(0);
-                    // a*(1*(1-1)/2) + b*1 + c = factors.get(1) --> b + c = factors.get(1)         --> b = factors.get(1) - c
-                    long b = factors.get(1) - c;
-                    // a*(2*(2-1)/2) + b*2 + c = factors.get(3) --> a + b*2 + c = factors.get(3)   --> a = factors.get(3) - b*2 - c
-                    long a = factors.get(2) - 2 * b - c;
-
-                    return a * ((n * (n - 1)) / 2) + b * n + c;
-                }
-            }
+        int firstSteps = target % width == 0 ? width : (int) (target % width);
+        long[] reachablePositionsAmounts = getReachablePositionsAmounts(firstSteps + 2 * width);
+        List<Long> factors = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            factors.add(reachablePositionsAmounts[firstSteps + i * width]);
         }
+        // target function is f(n) = a*(n*(n-1)/2) + b*n + c
+        // we have points n=0, n=1, n=2 and need f(n), for n=202300
+
+        // a*(0*(0-1)/2) + b*0 + c = factors.get(0) --> a*0 + b*0 + c = factors.get(0) --> c = factors.get(0)
+        long c = factors.get(0);
+        // a*(1*(1-1)/2) + b*1 + c = factors.get(1) --> b + c = factors.get(1)         --> b = factors.get(1) - c
+        long b = factors.get(1) - c;
+        // a*(2*(2-1)/2) + b*2 + c = factors.get(3) --> a + b*2 + c = factors.get(3)   --> a = factors.get(3) - b*2 - c
+        long a = factors.get(2) - 2 * b - c;
+
+        return a * ((n * (n - 1)) / 2) + b * n + c;
     }
 
-    private boolean isEmptyField(Position p) {
-        final long adjustedX = p.x() % width;
-        final long adjustedY = p.y() % height;
-        return !stones.contains(new Position(adjustedX < 0 ? adjustedX + width : adjustedX, adjustedY < 0 ? adjustedY + height : adjustedY));
+    /**
+     * a position is reachable with exactly i steps, if its distance is at most i and has the same parity
+     * (we can always step back and forth). within maxSteps we can't leave the repeated gardens around the
+     * start, so one breadth first search over those gardens answers all step amounts.
+     *
+     * @return the amount of positions reachable with exactly i steps at index i
+     */
+    private long[] getReachablePositionsAmounts(int maxSteps) {
+        TiledGarden garden = new TiledGarden(stones, width, height, 2 * (maxSteps / width + 1) + 1, 2 * (maxSteps / height + 1) + 1);
+        long centeredStart = Position.pack(Position.unpackX(startPosition) + (garden.horizontalTiles() / 2) * (long) width,
+                Position.unpackY(startPosition) + (garden.verticalTiles() / 2) * (long) height);
+        int[] distances = BreadthFirstSearch.distances(garden, garden.node(centeredStart));
+        long[] result = new long[maxSteps + 1];
+        for (int distance : distances) {
+            if (distance != BreadthFirstSearch.UNREACHABLE && distance <= maxSteps) {
+                result[distance]++;
+            }
+        }
+        for (int i = 2; i <= maxSteps; i++) {
+            result[i] += result[i - 2];
+        }
+        return result;
     }
 
-    public static List<Position> getSurroundingPoints(Position position) {
-        return List.of(position.moveTo(Direction.NORTH), position.moveTo(Direction.EAST), position.moveTo(Direction.SOUTH), position.moveTo(Direction.WEST));
+    /**
+     * the garden repeated the given amount of times in both directions
+     */
+    private record TiledGarden(LongSet stones, int width, int height, int horizontalTiles, int verticalTiles) implements Graph {
+        int node(long position) {
+            return Math.toIntExact(Position.unpackY(position) * width * horizontalTiles + Position.unpackX(position));
+        }
+
+        @Override
+        public int nodeCount() {
+            return Math.multiplyExact(width * horizontalTiles, height * verticalTiles);
+        }
+
+        @Override
+        public void forEachEdge(int node, EdgeConsumer consumer) {
+            int x = node % (width * horizontalTiles);
+            int y = node / (width * horizontalTiles);
+            Position.forEachNeighbor(Position.pack(x, y), DirectionSet.ALL, (neighborX, neighborY, direction) -> {
+                if (neighborX >= 0 && neighborX < width * horizontalTiles && neighborY >= 0 && neighborY < height * verticalTiles
+                        && !stones.contains(Position.pack(neighborX % width, neighborY % height))) {
+                    consumer.accept(neighborY * width * horizontalTiles + neighborX, 1);
+                }
+            });
+        }
     }
 
-    private static Map.Entry<Position, Set<Position>> getGrid(List<String> inputLines) {
-        Set<Position> result = new HashSet<>();
-        Position startPosition = new Position(0L, 0L);
-        for (int y = 0; y < inputLines.size(); y++) {
-            final String line = inputLines.get(y);
-            for (int x = 0; x < line.length(); x++) {
-                char c = line.charAt(x);
+    private static Map.Entry<Long, LongSet> getGrid(DenseGrid grid) {
+        LongSet result = new LongSet();
+        long startPosition = Position.pack(0L, 0L);
+        for (int y = 0; y < grid.height(); y++) {
+            for (int x = 0; x < grid.width(); x++) {
+                char c = (char) grid.get(x, y);
                 if (c == '#') {
-                    result.add(new Position(x, y));
+                    result.add(Position.pack(x, y));
                 } else if (c == 'S') {
-                    startPosition = new Position(x, y);
+                    startPosition = Position.pack(x, y);
                 }
             }
         }
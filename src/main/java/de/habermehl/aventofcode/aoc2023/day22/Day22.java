@@ -2,46 +2,48 @@ package de.habermehl.aventofcode.aoc2023.day22;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.function.Predicate;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
-import com.google.common.collect.Sets;
 
+import de.habermehl.aventofcode.aoc2023.CsrAdjacency;
+import de.habermehl.aventofcode.aoc2023.PhaseEvent;
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.TokenScanner;
 import de.habermehl.aventofcode.aoc2023.Utils;
 
-public class Day22 {
-    private static final Pattern BRICK_POSITIONS = Pattern.compile("(\\d+),(\\d+),(\\d+)~(\\d+),(\\d+),(\\d+)");
+public class Day22 implements Solver {
     private final List<Brick> bricks;
-    private final Multimap<Long, Long> bricksAbove;
-    private final Multimap<Long, Long> bricksBelow;
+    /**
+     * bricks are identified by their ordinal
+     */
+    private final CsrAdjacency bricksAbove;
+    private final CsrAdjacency bricksBelow;
 
     public Day22() throws IOException {
         this(Utils.getInput("aoc2023/day22/input"));
     }
 
     Day22(List<String> inputLines) {
-        bricks = getDroppedBricks(getBricks(inputLines));
-        bricksAbove = getBricksAbove(bricks);
-        bricksBelow = bricksAbove.entries().stream()
-                .collect(Multimaps.toMultimap(Map.Entry::getValue, Map.Entry::getKey, LinkedListMultimap::create));
+        List<Brick> snapshot = getBricks(inputLines);
+        PhaseEvent settling = PhaseEvent.start(22, "settle bricks", snapshot.size());
+        CsrAdjacency.Builder supports = CsrAdjacency.builder(inputLines.size());
+        bricks = getDroppedBricks(snapshot, supports);
+        settling.commit();
+        PhaseEvent supportGraph = PhaseEvent.start(22, "build support graph", bricks.size());
+        bricksAbove = supports.buildUnweighted();
+        bricksBelow = bricksAbove.transposed();
+        supportGraph.commit();
     }
 
+    @Override
     public long getPart1() {
         return bricks.stream()
                 .filter(brick -> getFallingBricksAmountWhenRemoved(brick) == 0L)
                 .count();
     }
 
+    @Override
     public long getPart2() {
         return bricks.stream()
                 .mapToLong(this::getFallingBricksAmountWhenRemoved)
@@ -49,49 +51,42 @@ public class Day22 {
     }
 
     long getFallingBricksAmountWhenRemoved(Brick brick) {
-        Set<Long> alreadyFallen = new HashSet<>(List.of(brick.ordinal()));
-        List<Long> testBricks = List.of(brick.ordinal());
-        while (!testBricks.isEmpty()) {
-            List<Long> newTestBricks = new ArrayList<>();
-            for (Long testBrick : testBricks) {
-                Collection<Long> aboveBricks = bricksAbove.get(testBrick);
-                for (Long aboveBrick : aboveBricks) {
-                    if (bricksBelow.get(aboveBrick).stream().noneMatch(Predicate.not(alreadyFallen::contains))) {
-                        newTestBricks.add(aboveBrick);
-                        alreadyFallen.add(aboveBrick);
-                    }
+        boolean[] fallen = new boolean[bricksAbove.nodeCount()];
+        int[] fallenBricks = new int[bricksAbove.nodeCount()];
+        int fallenAmount = 0;
+        fallenBricks[fallenAmount++] = (int) brick.ordinal();
+        fallen[(int) brick.ordinal()] = true;
+        for (int i = 0; i < fallenAmount; i++) {
+            int testBrick = fallenBricks[i];
+            for (int edge = bricksAbove.firstEdge(testBrick); edge < bricksAbove.endEdge(testBrick); edge++) {
+                int aboveBrick = bricksAbove.target(edge);
+                if (!fallen[aboveBrick] && isOnlyStandingOn(aboveBrick, fallen)) {
+                    fallen[aboveBrick] = true;
+                    fallenBricks[fallenAmount++] = aboveBrick;
                 }
             }
-            testBricks = newTestBricks;
         }
-        return alreadyFallen.size() - 1L;
+        return fallenAmount - 1L;
     }
 
-    private static Multimap<Long, Long> getBricksAbove(List<Brick> bricks) {
-        Multimap<Long, Long> bricksAbove = LinkedListMultimap.create();
-        for (int i = 0; i < bricks.size(); i++) {
-            Brick brickA = bricks.get(i);
-            for (int j = i + 1; j < bricks.size(); j++) {
-                Brick brickB = bricks.get(j);
-                if (brickA.isDirectlyBelow(brickB)) {
-                    bricksAbove.put(brickA.ordinal(), brickB.ordinal());
-                } else if (brickB.isDirectlyBelow(brickA)) {
-                    bricksAbove.put(brickB.ordinal(), brickA.ordinal());
-                }
+    private boolean isOnlyStandingOn(int brick, boolean[] bricksBelowMask) {
+        for (int edge = bricksBelow.firstEdge(brick); edge < bricksBelow.endEdge(brick); edge++) {
+            if (!bricksBelowMask[bricksBelow.target(edge)]) {
+                return false;
             }
         }
-        return bricksAbove;
+        return true;
     }
 
     private static List<Brick> getBricks(List<String> inputLines) {
         List<Brick> bricks = new ArrayList<>();
         long line = 0;
         for (String inputLine : inputLines) {
-            Matcher m = BRICK_POSITIONS.matcher(inputLine);
-            if (m.find()) {
-                Brick brick = Brick.of(line,
-                        new Voxel(Long.parseLong(m.group(1)), Long.parseLong(m.group(2)), Long.parseLong(m.group(3))),
-                        new Voxel(Long.parseLong(m.group(4)), Long.parseLong(m.group(5)), Long.parseLong(m.group(6)))
+            TokenScanner scanner = TokenScanner.of(inputLine);
+            if (scanner.hasNextLong()) {
+                Brick brick = new Brick(line,
+                        new Voxel(scanner.nextLong(), scanner.nextLong(), scanner.nextLong()),
+                        new Voxel(scanner.nextLong(), scanner.nextLong(), scanner.nextLong())
                 );
                 bricks.add(brick);
             }
@@ -100,15 +95,47 @@ public class Day22 {
         return bricks;
     }
 
-    private static List<Brick> getDroppedBricks(List<Brick> source) {
-        List<Brick> result = new ArrayList<>();
-        Set<Voxel> alreadyUsedVoxels = new HashSet<>();
+    /**
+     * drops the bricks from the lowest one upwards onto a height map of the x/y columns, which also knows the
+     * brick on top of each column. so the bricks a dropped brick rests on are added to bricksAbove right away.
+     */
+    private static List<Brick> getDroppedBricks(List<Brick> source, CsrAdjacency.Builder bricksAbove) {
+        if (source.isEmpty()) {
+            return List.of();
+        }
+        long minX = source.stream().mapToLong(brick -> brick.from().x()).min().getAsLong();
+        long minY = source.stream().mapToLong(brick -> brick.from().y()).min().getAsLong();
+        int width = Math.toIntExact(source.stream().mapToLong(brick -> brick.to().x()).max().getAsLong() - minX + 1);
+        int depth = Math.toIntExact(source.stream().mapToLong(brick -> brick.to().y()).max().getAsLong() - minY + 1);
+        long[] heights = new long[Math.multiplyExact(width, depth)];
+        int[] topBricks = new int[heights.length];
+        Arrays.fill(topBricks, -1);
+        // the ordinal of the last brick each brick was added as support of, plus 1
+        int[] supportedBrick = new int[source.stream().mapToInt(brick -> (int) brick.ordinal() + 1).max().getAsInt()];
+
+        List<Brick> result = new ArrayList<>(source.size());
         for (Brick brick : source.stream().sorted(Comparator.comparing(brick -> brick.from().z())).toList()) {
-            while (brick.from().z() > 1 && brick.getBelowPlane().stream().noneMatch(alreadyUsedVoxels::contains)) {
-                brick = brick.moveDown(1L);
+            int ordinal = (int) brick.ordinal();
+            long restingZ = 1;
+            for (long x = brick.from().x(); x <= brick.to().x(); x++) {
+                for (long y = brick.from().y(); y <= brick.to().y(); y++) {
+                    restingZ = Math.max(restingZ, heights[(int) ((y - minY) * width + x - minX)] + 1);
+                }
             }
-            result.add(brick);
-            alreadyUsedVoxels.addAll(brick.voxels());
+            Brick dropped = brick.moveDown(brick.from().z() - restingZ);
+            for (long x = brick.from().x(); x <= brick.to().x(); x++) {
+                for (long y = brick.from().y(); y <= brick.to().y(); y++) {
+                    int column = (int) ((y - minY) * width + x - minX);
+                    int below = topBricks[column];
+                    if (below >= 0 && heights[column] == restingZ - 1 && supportedBrick[below] != ordinal + 1) {
+                        supportedBrick[below] = ordinal + 1;
+                        bricksAbove.add(below, ordinal);
+                    }
+                    heights[column] = dropped.to().z();
+                    topBricks[column] = ordinal;
+                }
+            }
+            result.add(dropped);
         }
         return result;
     }
@@ -122,51 +149,13 @@ public class Day22 {
     record Voxel(long x, long y, long z) {
     }
 
-    record Brick(long ordinal, Set<Voxel> voxels, Voxel from, Voxel to) {
-
-        public boolean isDirectlyBelow(Brick other) {
-            return !Sets.intersection(getAbovePlane(), other.getLowerPlane()).isEmpty();
-        }
+    record Brick(long ordinal, Voxel from, Voxel to) {
 
         public Brick moveDown(long amount) {
             if (amount == 0) {
                 return this;
             }
-            return Brick.of(ordinal, new Voxel(from.x(), from().y(), from().z() - amount), new Voxel(to.x(), to().y(), to().z() - amount));
-        }
-
-        public Set<Voxel> getAbovePlane() {
-            return getPlane(to.z() + 1);
-        }
-
-        public Set<Voxel> getBelowPlane() {
-            return getPlane(from.z() - 1);
-        }
-
-        public Set<Voxel> getLowerPlane() {
-            return getPlane(from.z());
-        }
-
-        private Set<Voxel> getPlane(long z) {
-            final Set<Voxel> result = new HashSet<>();
-            for (long x = from.x(); x <= to.x(); x++) {
-                for (long y = from.y(); y <= to.y(); y++) {
-                    result.add(new Voxel(x, y, z));
-                }
-            }
-            return result;
-        }
-
-        static Brick of(long ordinal, Voxel from, Voxel to) {
-            Set<Voxel> voxels = new HashSet<>();
-            for (long x = from.x(); x <= to.x(); x++) {
-                for (long y = from.y(); y <= to.y(); y++) {
-                    for (long z = from.z(); z <= to.z(); z++) {
-                        voxels.add(new Voxel(x, y, z));
-                    }
-                }
-            }
-            return new Brick(ordinal, voxels, from, to);
+            return new Brick(ordinal, new Voxel(from.x(), from().y(), from().z() - amount), new Voxel(to.x(), to().y(), to().z() - amount));
         }
     }
 }
@@ -2,161 +2,178 @@ package de.habermehl.aventofcode.aoc2023.day23;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Optional;
-import java.util.Set;
-import java.util.function.Predicate;
-
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.Multimap;
 
+import de.habermehl.aventofcode.aoc2023.CsrAdjacency;
+import de.habermehl.aventofcode.aoc2023.DenseGrid;
 import de.habermehl.aventofcode.aoc2023.Direction;
+import de.habermehl.aventofcode.aoc2023.DirectionSet;
+import de.habermehl.aventofcode.aoc2023.LongLongMap;
+import de.habermehl.aventofcode.aoc2023.LongObjectMap;
+import de.habermehl.aventofcode.aoc2023.LongSet;
 import de.habermehl.aventofcode.aoc2023.Position;
+import de.habermehl.aventofcode.aoc2023.Solver;
 import de.habermehl.aventofcode.aoc2023.Utils;
+import de.habermehl.aventofcode.aoc2023.graph.LongestPath;
 
-public class Day23 {
+public class Day23 implements Solver {
     private static final Map<Character, Direction> INPUT_DIRECTIONS = Map.of(
             '^', Direction.NORTH,
             '>', Direction.EAST,
             'v', Direction.SOUTH,
             '<', Direction.WEST);
-    private static final List<Direction> ALLOWED_DIRECTIONS = new ArrayList<>(INPUT_DIRECTIONS.values());
-    private final Set<Position> forest;
-    private final Map<Position, Direction> slopes;
-    private final Position start;
-    private final Position finish;
+    private final LongSet forest;
+    private final LongObjectMap<Direction> slopes;
+    private final long start;
+    private final long finish;
 
     public Day23() throws IOException {
-        this(Utils.getInput("aoc2023/day23/input"));
+        this(DenseGrid.ofDirect(Utils.getInputBytes("aoc2023/day23/input")));
     }
 
     Day23(List<String> inputLines) {
-        Entry<Set<Position>, Map<Position, Direction>> input = getHikingMap(inputLines);
+        this(DenseGrid.of(inputLines));
+    }
+
+    Day23(DenseGrid grid) {
+        Entry<LongSet, LongObjectMap<Direction>> input = getHikingMap(grid);
         forest = input.getKey();
         slopes = input.getValue();
-        start = new Position(1L, 0);
-        finish = new Position(inputLines.get(0).length() - 2L, inputLines.size() - 1L);
+        start = Position.pack(1L, 0);
+        finish = Position.pack(grid.width() - 2L, grid.height() - 1L);
     }
 
+    @Override
     public long getPart1() {
         return getLongestHike(false);
     }
 
+    @Override
     public long getPart2() {
         return getLongestHike(true);
     }
 
     private long getLongestHike(boolean ignoreSlopes) {
-        Map<Position, List<PathSection>> junctions = getCrossroads(ignoreSlopes);
-        return getLongestHikeRecursively(new ArrayList<>(List.of(junctions.get(start).iterator().next())), junctions);
-    }
-
-    private long getLongestHikeRecursively(ArrayList<PathSection> currentPath, Map<Position, List<PathSection>> junctions) {
-        PathSection lastStep = currentPath.get(currentPath.size() - 1);
-        long longestHike = Long.MIN_VALUE;
-        for (PathSection value : junctions.get(lastStep.target())) {
-            Position nextPosition = value.target();
-            if (nextPosition.equals(finish)) {
-                return currentPath.stream().mapToLong(PathSection::length).sum() + value.length();
-            }
-            if (currentPath.stream().noneMatch(pathSection -> pathSection.position().equals(nextPosition))) {
-                currentPath.add(value);
-                longestHike = Math.max(longestHike, getLongestHikeRecursively(currentPath, junctions));
-                currentPath.remove(currentPath.size() - 1);
+        LongObjectMap<List<PathSection>> junctions = getCrossroads(ignoreSlopes);
+        LongLongMap junctionIndexes = new LongLongMap(junctions.size());
+        junctions.keys().forEach(junction -> junctionIndexes.put(junction, junctionIndexes.size()));
+        CsrAdjacency.Builder junctionGraph = CsrAdjacency.builder(junctions.size());
+        junctions.forEach((junction, sections) -> {
+            // once the junction before the finish is reached, any other way would block the finish
+            List<PathSection> usableSections = sections.stream()
+                    .filter(section -> section.target() == finish)
+                    .findAny()
+                    .map(List::of)
+                    .orElse(sections);
+            for (PathSection section : usableSections) {
+                junctionGraph.add((int) junctionIndexes.getOrDefault(junction, -1), (int) junctionIndexes.getOrDefault(section.target(), -1), section.length());
             }
-        }
-        return longestHike;
+        });
+        return LongestPath.length(junctionGraph.build(),
+                (int) junctionIndexes.getOrDefault(start, -1), (int) junctionIndexes.getOrDefault(finish, -1));
     }
 
-    private Map<Position, List<PathSection>> getCrossroads(boolean ignoreSlope) {
-        LongSummaryStatistics xStats = forest.stream().mapToLong(Position::x).summaryStatistics();
-        LongSummaryStatistics yStats = forest.stream().mapToLong(Position::y).summaryStatistics();
+    private LongObjectMap<List<PathSection>> getCrossroads(boolean ignoreSlope) {
+        LongSummaryStatistics xStats = forest.stream().map(Position::unpackX).summaryStatistics();
+        LongSummaryStatistics yStats = forest.stream().map(Position::unpackY).summaryStatistics();
         Position min = new Position(xStats.getMin(), yStats.getMin());
         Position max = new Position(xStats.getMax(), yStats.getMax());
 
-        Multimap<Position, Direction> crossroads = getCrossroads(min, max);
-        Map<Position, List<PathSection>> result = new HashMap<>();
-        for (Entry<Position, Collection<Direction>> crossroadDirections : crossroads.asMap().entrySet()) {
-            Position crossroadPosition = crossroadDirections.getKey();
-            List<PathSection> ways = crossroadDirections.getValue().stream()
-                    .map(direction -> getPathSection(crossroadPosition, direction, crossroads.keySet(), ignoreSlope))
-                    .filter(pathSection -> pathSection.length() > 0)
-                    .toList();
+        LongLongMap crossroads = getCrossroads(min, max);
+        LongSet crossroadPositions = new LongSet(crossroads.size());
+        crossroads.keys().forEach(crossroadPositions::add);
+        LongObjectMap<List<PathSection>> result = new LongObjectMap<>();
+        crossroads.forEach((crossroadPosition, directions) -> {
+            List<PathSection> ways = new ArrayList<>(DirectionSet.size((int) directions));
+            for (int remaining = (int) directions; !DirectionSet.isEmpty(remaining); remaining = DirectionSet.withoutFirst(remaining)) {
+                PathSection pathSection = getPathSection(crossroadPosition, DirectionSet.first(remaining), crossroadPositions, ignoreSlope);
+                if (pathSection.length() > 0) {
+                    ways.add(pathSection);
+                }
+            }
             result.put(crossroadPosition, ways);
-        }
+        });
         return result;
     }
 
-    private PathSection getPathSection(Position position, Direction direction, Set<Position> junctions, boolean ignoreSlopes) {
-        Set<Position> way = new HashSet<>();
-        Position testPosition = position.moveTo(direction);
+    private PathSection getPathSection(long position, Direction direction, LongSet junctions, boolean ignoreSlopes) {
+        long length = 1;
+        long testPosition = Position.moveTo(position, direction);
         Direction lastDirection = direction;
         while (!junctions.contains(testPosition)) {
-            final Position pos = testPosition;
             Direction slopeDirection = ignoreSlopes ? null : slopes.get(testPosition);
-            List<Direction> potentialDirections = Optional.ofNullable(slopeDirection).map(List::of).orElse(ALLOWED_DIRECTIONS).stream()
-                    .filter(Predicate.not(lastDirection.opposite()::equals))
-                    .filter(d -> !forest.contains(pos.moveTo(d)))
-                    .toList();
-            if (potentialDirections.isEmpty()) {
-                return new PathSection(null, null, 0L);
+            int potentialDirections = slopeDirection == null ? DirectionSet.ALL : DirectionSet.with(DirectionSet.NONE, slopeDirection);
+            potentialDirections = DirectionSet.without(potentialDirections, lastDirection.opposite());
+            Direction nextDirection = null;
+            for (int remaining = potentialDirections; nextDirection == null && !DirectionSet.isEmpty(remaining); remaining = DirectionSet.withoutFirst(remaining)) {
+                Direction potentialDirection = DirectionSet.first(remaining);
+                if (!forest.contains(Position.moveTo(testPosition, potentialDirection))) {
+                    nextDirection = potentialDirection;
+                }
+            }
+            if (nextDirection == null) {
+                return new PathSection(0L, 0L, 0L);
             }
-            way.add(testPosition);
-            lastDirection = potentialDirections.iterator().next();
-            testPosition = testPosition.moveTo(lastDirection);
+            length++;
+            lastDirection = nextDirection;
+            testPosition = Position.moveTo(testPosition, lastDirection);
         }
-        return new PathSection(position, testPosition, way.size() + 1L);
+        return new PathSection(position, testPosition, length);
     }
 
-    private static Map.Entry<Set<Position>, Map<Position, Direction>> getHikingMap(List<String> inputLines) {
-        Set<Position> result = new HashSet<>();
-        Map<Position, Direction> slopes = new HashMap<>();
-        for (int y = 0; y < inputLines.size(); y++) {
-            final String line = inputLines.get(y);
-            for (int x = 0; x < line.length(); x++) {
-                final char c = line.charAt(x);
+    private static Map.Entry<LongSet, LongObjectMap<Direction>> getHikingMap(DenseGrid grid) {
+        LongSet result = new LongSet();
+        LongObjectMap<Direction> slopes = new LongObjectMap<>();
+        for (int y = 0; y < grid.height(); y++) {
+            for (int x = 0; x < grid.width(); x++) {
+                final char c = (char) grid.get(x, y);
                 Direction direction = INPUT_DIRECTIONS.get(c);
                 if (direction != null) {
-                    slopes.put(new Position(x, y), direction);
+                    slopes.put(Position.pack(x, y), direction);
                 } else if (c == '#') {
-                    result.add(new Position(x, y));
+                    result.add(Position.pack(x, y));
                 }
             }
         }
         return Map.entry(result, slopes);
     }
 
-    private Multimap<Position, Direction> getCrossroads(Position min, Position max) {
-        Multimap<Position, Direction> result = ArrayListMultimap.create();
+    /**
+     * @return the {@link DirectionSet} of open directions for each crossroad
+     */
+    private LongLongMap getCrossroads(Position min, Position max) {
+        LongLongMap result = new LongLongMap();
         for (long y = min.y(); y <= max.y(); y++) {
             for (long x = min.x(); x < max.x(); x++) {
-                Position position = new Position(x, y);
+                long position = Position.pack(x, y);
                 if (forest.contains(position)) {
                     continue;
                 }
-                List<Direction> allowedDirections = ALLOWED_DIRECTIONS.stream()
-                        .filter(direction -> isValidPosition(position.moveTo(direction), min, max))
-                        .toList();
-                if (allowedDirections.size() > 2 || position.equals(start) || position.equals(finish)) {
-                    result.putAll(position, allowedDirections);
+                int allowedDirections = DirectionSet.NONE;
+                for (int ordinal = 0; ordinal < DirectionSet.SIZE; ordinal++) {
+                    if (isValidPosition(Position.pack(x + Direction.dx(ordinal), y + Direction.dy(ordinal)), min, max)) {
+                        allowedDirections = DirectionSet.with(allowedDirections, Direction.of(ordinal));
+                    }
+                }
+                if (DirectionSet.size(allowedDirections) > 2 || position == start || position == finish) {
+                    result.put(position, allowedDirections);
                 }
             }
         }
         return result;
     }
 
-    private boolean isValidPosition(Position position, Position min, Position max) {
+    private boolean isValidPosition(long position, Position min, Position max) {
         if (forest.contains(position)) {
             return false;
         }
-        return min.x() <= position.x() && position.x() <= max.x()
-                && min.y() <= position.y() && position.y() <= max.y();
+        long x = Position.unpackX(position);
+        long y = Position.unpackY(position);
+        return min.x() <= x && x <= max.x()
+                && min.y() <= y && y <= max.y();
     }
 
     public static void main(String... args) throws IOException {
@@ -165,6 +182,6 @@ public class Day23 {
         System.out.println(day.getClass().getSimpleName() + " / part2: " + day.getPart2());
     }
 
-    private record PathSection(Position position, Position target, long length) {
+    private record PathSection(long position, long target, long length) {
     }
 }
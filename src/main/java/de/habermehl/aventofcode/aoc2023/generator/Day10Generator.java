@@ -0,0 +1,70 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import de.habermehl.aventofcode.aoc2023.Direction;
+
+/**
+ * size: width and height of the field. the loop is the border of a random region, all other tiles are random
+ * pipes or ground. the tiles next to the start are ground if they are not part of the loop, so the type of
+ * the start pipe is unambiguous.
+ */
+final class Day10Generator implements InputGenerator {
+    private static final String JUNK = "|-LJ7F.....";
+    private static final Map<Set<Direction>, Character> PIPES = Map.of(
+            Set.of(Direction.NORTH, Direction.SOUTH), '|',
+            Set.of(Direction.EAST, Direction.WEST), '-',
+            Set.of(Direction.NORTH, Direction.EAST), 'L',
+            Set.of(Direction.NORTH, Direction.WEST), 'J',
+            Set.of(Direction.SOUTH, Direction.WEST), '7',
+            Set.of(Direction.SOUTH, Direction.EAST), 'F');
+
+    @Override
+    public int defaultSize() {
+        return 140;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        char[][] field = new char[size][size];
+        for (char[] line : field) {
+            for (int x = 0; x < line.length; x++) {
+                line[x] = JUNK.charAt(random.nextInt(JUNK.length()));
+            }
+        }
+        Region.Loop loop = Region.grow(size - 1, 0.4, random).getBorder();
+        boolean[][] onLoop = new boolean[size][size];
+        int x = loop.startX();
+        int y = loop.startY();
+        List<Direction> steps = loop.steps();
+        int startStep = random.nextInt(steps.size());
+        int startX = 0;
+        int startY = 0;
+        for (int i = 0; i < steps.size(); i++) {
+            Direction incoming = steps.get((i + steps.size() - 1) % steps.size());
+            Direction outgoing = steps.get(i);
+            onLoop[y][x] = true;
+            field[y][x] = PIPES.get(Set.of(incoming.opposite(), outgoing));
+            if (i == startStep) {
+                startX = x;
+                startY = y;
+            }
+            x += (int) outgoing.x();
+            y += (int) outgoing.y();
+        }
+        field[startY][startX] = 'S';
+        for (Direction direction : Direction.values()) {
+            int neighborX = startX + (int) direction.x();
+            int neighborY = startY + (int) direction.y();
+            if (neighborX >= 0 && neighborX < size && neighborY >= 0 && neighborY < size && !onLoop[neighborY][neighborX]) {
+                field[neighborY][neighborX] = '.';
+            }
+        }
+        return new ArrayList<>(Arrays.stream(field).map(String::new).toList());
+    }
+}
@@ -0,0 +1,33 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * size: width and height of the image. about every tenth row and column is empty.
+ */
+final class Day11Generator implements InputGenerator {
+    @Override
+    public int defaultSize() {
+        return 140;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        boolean[] emptyColumns = new boolean[size];
+        for (int x = 0; x < size; x++) {
+            emptyColumns[x] = random.nextInt(10) == 0;
+        }
+        List<String> result = new ArrayList<>(size);
+        for (int y = 0; y < size; y++) {
+            boolean emptyRow = random.nextInt(10) == 0;
+            char[] line = new char[size];
+            for (int x = 0; x < size; x++) {
+                line[x] = !emptyRow && !emptyColumns[x] && random.nextInt(60) == 0 ? '#' : '.';
+            }
+            result.add(new String(line));
+        }
+        return result;
+    }
+}
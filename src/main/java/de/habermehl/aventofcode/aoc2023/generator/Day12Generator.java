@@ -0,0 +1,49 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * size: amount of rows. the groups are taken from a random row of springs before some springs are
+ * replaced by '?'.
+ */
+final class Day12Generator implements InputGenerator {
+    @Override
+    public int defaultSize() {
+        return 1000;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            char[] springs = new char[8 + random.nextInt(13)];
+            for (int x = 0; x < springs.length; x++) {
+                springs[x] = random.nextBoolean() ? '#' : '.';
+            }
+            springs[random.nextInt(springs.length)] = '#';
+            StringJoiner groups = new StringJoiner(",");
+            int group = 0;
+            for (char spring : springs) {
+                if (spring == '#') {
+                    group++;
+                } else if (group > 0) {
+                    groups.add(Integer.toString(group));
+                    group = 0;
+                }
+            }
+            if (group > 0) {
+                groups.add(Integer.toString(group));
+            }
+            for (int x = 0; x < springs.length; x++) {
+                if (random.nextInt(5) < 2) {
+                    springs[x] = '?';
+                }
+            }
+            result.add(new String(springs) + " " + groups);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,126 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * size: amount of patterns. every pattern has exactly one perfect reflection line and exactly one line
+ * reflecting with a single smudge, one of them vertical and the other one horizontal.
+ */
+final class Day13Generator implements InputGenerator {
+    @Override
+    public int defaultSize() {
+        return 100;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                result.add("");
+            }
+            boolean[][] pattern;
+            do {
+                pattern = createPattern(random);
+            } while (pattern == null || countLines(pattern, 0) != 1 || countLines(pattern, 1) != 1);
+            for (boolean[] row : pattern) {
+                StringBuilder line = new StringBuilder(row.length);
+                for (boolean rock : row) {
+                    line.append(rock ? '#' : '.');
+                }
+                result.add(line.toString());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * creates a pattern symmetric at a vertical line and a horizontal line and breaks the horizontal symmetry
+     * with one smudge outside the area reflected at the vertical line. the pattern is transposed randomly.
+     */
+    private static boolean[][] createPattern(Random random) {
+        int width = 5 + random.nextInt(13);
+        int height = 5 + random.nextInt(13);
+        int column = 1 + random.nextInt(width - 1);
+        int row = 1 + random.nextInt(height - 1);
+        if (2 * column == width) {
+            return null;
+        }
+        int[] classes = new int[width * height];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = i;
+        }
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int mirroredX = 2 * column - 1 - x;
+                int mirroredY = 2 * row - 1 - y;
+                if (mirroredX >= 0 && mirroredX < width) {
+                    union(classes, y * width + x, y * width + mirroredX);
+                }
+                if (mirroredY >= 0 && mirroredY < height) {
+                    union(classes, y * width + x, mirroredY * width + x);
+                }
+            }
+        }
+        boolean[] classValues = new boolean[classes.length];
+        for (int i = 0; i < classValues.length; i++) {
+            classValues[i] = random.nextBoolean();
+        }
+        boolean[][] pattern = new boolean[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                pattern[y][x] = classValues[find(classes, y * width + x)];
+            }
+        }
+        int unreflectedX = 2 * column < width ? width - 1 - random.nextInt(width - 2 * column) : random.nextInt(2 * column - width);
+        int reflectedY = Math.max(0, 2 * row - height) + random.nextInt(Math.min(row, height - row) * 2);
+        pattern[reflectedY][unreflectedX] = !pattern[reflectedY][unreflectedX];
+        return random.nextBoolean() ? pattern : transpose(pattern);
+    }
+
+    private static int countLines(boolean[][] pattern, int expectedDifferences) {
+        return countRows(pattern, expectedDifferences) + countRows(transpose(pattern), expectedDifferences);
+    }
+
+    private static int countRows(boolean[][] pattern, int expectedDifferences) {
+        int result = 0;
+        for (int row = 1; row < pattern.length; row++) {
+            int differences = 0;
+            for (int offset = 0; row - 1 - offset >= 0 && row + offset < pattern.length; offset++) {
+                for (int x = 0; x < pattern[row].length; x++) {
+                    if (pattern[row - 1 - offset][x] != pattern[row + offset][x]) {
+                        differences++;
+                    }
+                }
+            }
+            if (differences == expectedDifferences) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    private static boolean[][] transpose(boolean[][] pattern) {
+        boolean[][] result = new boolean[pattern[0].length][pattern.length];
+        for (int y = 0; y < pattern.length; y++) {
+            for (int x = 0; x < pattern[y].length; x++) {
+                result[x][y] = pattern[y][x];
+            }
+        }
+        return result;
+    }
+
+    private static void union(int[] classes, int a, int b) {
+        classes[find(classes, a)] = find(classes, b);
+    }
+
+    private static int find(int[] classes, int element) {
+        while (classes[element] != element) {
+            classes[element] = classes[classes[element]];
+            element = classes[element];
+        }
+        return element;
+    }
+}
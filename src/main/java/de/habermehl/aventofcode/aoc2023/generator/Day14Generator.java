@@ -0,0 +1,30 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * size: width and height of the platform
+ */
+final class Day14Generator implements InputGenerator {
+    private static final String TILES = "OO#.......";
+
+    @Override
+    public int defaultSize() {
+        return 100;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        List<String> result = new ArrayList<>(size);
+        for (int y = 0; y < size; y++) {
+            char[] line = new char[size];
+            for (int x = 0; x < size; x++) {
+                line[x] = TILES.charAt(random.nextInt(TILES.length()));
+            }
+            result.add(new String(line));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,34 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * size: amount of steps, working on about a quarter as many different labels
+ */
+final class Day15Generator implements InputGenerator {
+    @Override
+    public int defaultSize() {
+        return 4000;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        List<String> labels = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, size / 4); i++) {
+            char[] label = new char[2 + random.nextInt(5)];
+            for (int c = 0; c < label.length; c++) {
+                label[c] = (char) ('a' + random.nextInt(26));
+            }
+            labels.add(new String(label));
+        }
+        StringJoiner steps = new StringJoiner(",");
+        for (int i = 0; i < size; i++) {
+            String label = labels.get(random.nextInt(labels.size()));
+            steps.add(random.nextInt(10) < 3 ? label + "-" : label + "=" + (1 + random.nextInt(9)));
+        }
+        return new ArrayList<>(List.of(steps.toString()));
+    }
+}
@@ -0,0 +1,28 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * size: width and height of the map of heat losses
+ */
+final class Day17Generator implements InputGenerator {
+    @Override
+    public int defaultSize() {
+        return 141;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        List<String> result = new ArrayList<>(size);
+        for (int y = 0; y < size; y++) {
+            char[] line = new char[size];
+            for (int x = 0; x < size; x++) {
+                line[x] = (char) ('1' + random.nextInt(9));
+            }
+            result.add(new String(line));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import de.habermehl.aventofcode.aoc2023.Direction;
+
+/**
+ * size: width and height of the grid the dig plan is based on. the plan is the border of a random region,
+ * every grid column and row is stretched by a random factor, once small for part 1 and once large for the
+ * color codes of part 2. stretching keeps the loop free of crossings.
+ */
+final class Day18Generator implements InputGenerator {
+    private static final String DIRECTIONS = "URDL";
+    private static final int MAX_HEX_STEPS = 0xFFFFF;
+
+    @Override
+    public int defaultSize() {
+        return 60;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        Region.Loop loop = Region.grow(size, 0.4, random).getBorder();
+        long[] columns1 = getOffsets(size, 10, random);
+        long[] rows1 = getOffsets(size, 10, random);
+        long[] columns2 = getOffsets(size, MAX_HEX_STEPS / (size + 1), random);
+        long[] rows2 = getOffsets(size, MAX_HEX_STEPS / (size + 1), random);
+        List<String> result = new ArrayList<>();
+        int x = loop.startX();
+        int y = loop.startY();
+        List<Direction> steps = loop.steps();
+        int first = 0;
+        while (steps.get(first) == steps.get((first + steps.size() - 1) % steps.size())) {
+            x += (int) steps.get(first).x();
+            y += (int) steps.get(first).y();
+            first++;
+        }
+        for (int i = first; i < first + steps.size(); ) {
+            Direction direction = steps.get(i % steps.size());
+            int startX = x;
+            int startY = y;
+            do {
+                x += (int) direction.x();
+                y += (int) direction.y();
+                i++;
+            } while (i < first + steps.size() && steps.get(i % steps.size()) == direction);
+            long steps1 = Math.abs(columns1[x] - columns1[startX]) + Math.abs(rows1[y] - rows1[startY]);
+            long steps2 = Math.abs(columns2[x] - columns2[startX]) + Math.abs(rows2[y] - rows2[startY]);
+            result.add(String.format("%c %d (#%05x%d)", DIRECTIONS.charAt(direction.ordinal()), steps1, steps2, (direction.ordinal() + 3) % 4));
+        }
+        return result;
+    }
+
+    /**
+     * @return the stretched position per grid position
+     */
+    private static long[] getOffsets(int size, int maxFactor, Random random) {
+        long[] result = new long[size + 1];
+        for (int i = 1; i < result.length; i++) {
+            result[i] = result[i - 1] + 1 + random.nextInt(maxFactor);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,77 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * size: amount of workflows. the workflows form a tree below "in", so every part is either accepted or
+ * rejected. there are half as many parts as workflows.
+ */
+final class Day19Generator implements InputGenerator {
+    private static final String CATEGORIES = "xmas";
+
+    @Override
+    public int defaultSize() {
+        return 540;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; names.size() < size - 1; i++) {
+            String name = getName(i);
+            if (!"in".equals(name)) {
+                names.add(name);
+            }
+        }
+        Collections.shuffle(names, random);
+        List<String> result = new ArrayList<>();
+        Deque<String> open = new ArrayDeque<>(List.of("in"));
+        int nextName = 0;
+        while (!open.isEmpty()) {
+            String workflow = open.removeFirst();
+            StringJoiner rules = new StringJoiner(",", workflow + "{", "}");
+            int conditions = 1 + random.nextInt(3);
+            for (int i = 0; i <= conditions; i++) {
+                String target;
+                if (nextName < names.size() && (open.isEmpty() || random.nextInt(3) > 0)) {
+                    target = names.get(nextName++);
+                    open.addLast(target);
+                } else {
+                    target = random.nextBoolean() ? "A" : "R";
+                }
+                if (i < conditions) {
+                    rules.add(String.format("%c%c%d:%s", CATEGORIES.charAt(random.nextInt(CATEGORIES.length())),
+                            random.nextBoolean() ? '<' : '>', 1 + random.nextInt(4000), target));
+                } else {
+                    rules.add(target);
+                }
+            }
+            result.add(rules.toString());
+        }
+        result.add("");
+        for (int i = 0; i < Math.max(1, size / 2); i++) {
+            StringJoiner part = new StringJoiner(",", "{", "}");
+            for (char category : CATEGORIES.toCharArray()) {
+                part.add(category + "=" + (1 + random.nextInt(4000)));
+            }
+            result.add(part.toString());
+        }
+        return result;
+    }
+
+    private static String getName(int number) {
+        StringBuilder name = new StringBuilder();
+        int remaining = number + 26;
+        while (remaining > 0) {
+            name.insert(0, (char) ('a' + remaining % 26));
+            remaining /= 26;
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * size: amount of lines, each with at least one digit and some spelled out digits
+ */
+final class Day1Generator implements InputGenerator {
+    private static final String[] DIGIT_NAMES = {"one", "two", "three", "four", "five", "six", "seven", "eight", "nine"};
+
+    @Override
+    public int defaultSize() {
+        return 1000;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StringBuilder line = new StringBuilder();
+            int tokens = 3 + random.nextInt(8);
+            int digitToken = random.nextInt(tokens);
+            for (int token = 0; token < tokens; token++) {
+                int type = random.nextInt(10);
+                if (token == digitToken || type == 0) {
+                    line.append((char) ('1' + random.nextInt(9)));
+                } else if (type < 4) {
+                    line.append(DIGIT_NAMES[random.nextInt(DIGIT_NAMES.length)]);
+                } else {
+                    line.append((char) ('a' + random.nextInt(26)));
+                }
+            }
+            result.add(line.toString());
+        }
+        return result;
+    }
+}
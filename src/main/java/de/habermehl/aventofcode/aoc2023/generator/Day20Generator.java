@@ -0,0 +1,75 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * size: bits per counter (2 to 15). like the original input the broadcaster starts four binary counters
+ * made of flip-flops. a conjunction per counter resets it when it reaches its random period, which is sent
+ * through an inverter to the conjunction in front of rx. the least common multiple of the periods (part 2)
+ * fits into a long.
+ */
+final class Day20Generator implements InputGenerator {
+    private static final int COUNTERS = 4;
+    private static final int MAX_BITS = 15;
+
+    @Override
+    public int defaultSize() {
+        return 12;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        if (size < 2 || size > MAX_BITS) {
+            throw new IllegalArgumentException("day 20 supports 2 to " + MAX_BITS + " bits per counter");
+        }
+        List<String> names = new ArrayList<>();
+        for (char first = 'a'; first <= 'z'; first++) {
+            for (char second = 'a'; second <= 'z'; second++) {
+                String name = "" + first + second;
+                if (!"rx".equals(name)) {
+                    names.add(name);
+                }
+            }
+        }
+        Collections.shuffle(names, random);
+        int nextName = 0;
+        String output = names.get(nextName++);
+        List<String> result = new ArrayList<>();
+        StringJoiner broadcast = new StringJoiner(", ", "broadcaster -> ", "");
+        for (int counter = 0; counter < COUNTERS; counter++) {
+            int period = (1 << (size - 1)) | random.nextInt(1 << (size - 1)) | 1;
+            String[] flipFlops = new String[size];
+            for (int bit = 0; bit < size; bit++) {
+                flipFlops[bit] = names.get(nextName++);
+            }
+            String reset = names.get(nextName++);
+            String inverter = names.get(nextName++);
+            broadcast.add(flipFlops[0]);
+            StringJoiner resetTargets = new StringJoiner(", ", "&" + reset + " -> ", "");
+            resetTargets.add(inverter);
+            for (int bit = 0; bit < size; bit++) {
+                StringJoiner targets = new StringJoiner(", ", "%" + flipFlops[bit] + " -> ", "");
+                if (bit + 1 < size) {
+                    targets.add(flipFlops[bit + 1]);
+                }
+                if ((period & (1 << bit)) != 0) {
+                    targets.add(reset);
+                }
+                if ((period & (1 << bit)) == 0 || bit == 0) {
+                    resetTargets.add(flipFlops[bit]);
+                }
+                result.add(targets.toString());
+            }
+            result.add(resetTargets.toString());
+            result.add("&" + inverter + " -> " + output);
+        }
+        result.add("&" + output + " -> rx");
+        result.add(broadcast.toString());
+        Collections.shuffle(result, random);
+        return result;
+    }
+}
@@ -0,0 +1,35 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * size: width and height of the garden (made odd). like the original input the start is in the center and
+ * its row, its column and the border are free of rocks, which part 2 relies on.
+ */
+final class Day21Generator implements InputGenerator {
+    @Override
+    public int defaultSize() {
+        return 131;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        int oddSize = size | 1;
+        int center = oddSize / 2;
+        List<String> result = new ArrayList<>(oddSize);
+        for (int y = 0; y < oddSize; y++) {
+            char[] line = new char[oddSize];
+            for (int x = 0; x < oddSize; x++) {
+                boolean free = x == center || y == center || x == 0 || y == 0 || x == oddSize - 1 || y == oddSize - 1;
+                line[x] = !free && random.nextInt(8) == 0 ? '#' : '.';
+            }
+            if (y == center) {
+                line[center] = 'S';
+            }
+            result.add(new String(line));
+        }
+        return result;
+    }
+}
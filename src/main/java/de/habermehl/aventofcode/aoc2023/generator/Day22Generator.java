@@ -0,0 +1,46 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import de.habermehl.aventofcode.aoc2023.LongSet;
+
+/**
+ * size: amount of bricks. the bricks are placed without overlapping on a 10 x 10 area at random heights.
+ */
+final class Day22Generator implements InputGenerator {
+    private static final int AREA = 10;
+
+    @Override
+    public int defaultSize() {
+        return 1377;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        LongSet usedVoxels = new LongSet();
+        List<String> result = new ArrayList<>(size);
+        int maxZ = size / 4 + 10;
+        while (result.size() < size) {
+            int[] from = {random.nextInt(AREA), random.nextInt(AREA), 1 + random.nextInt(maxZ)};
+            int[] to = from.clone();
+            int axis = random.nextInt(3);
+            to[axis] += random.nextInt(4);
+            if (axis < 2 && to[axis] >= AREA) {
+                continue;
+            }
+            List<Long> voxels = new ArrayList<>();
+            for (int i = from[axis]; i <= to[axis]; i++) {
+                int[] voxel = from.clone();
+                voxel[axis] = i;
+                voxels.add(((long) voxel[2] << 16) | (voxel[1] << 8) | voxel[0]);
+            }
+            if (voxels.stream().noneMatch(usedVoxels::contains)) {
+                voxels.forEach(usedVoxels::add);
+                result.add(String.format("%d,%d,%d~%d,%d,%d", from[0], from[1], from[2], to[0], to[1], to[2]));
+            }
+        }
+        return result;
+    }
+}
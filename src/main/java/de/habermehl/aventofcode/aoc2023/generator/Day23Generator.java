@@ -0,0 +1,82 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * size: width and height of the map (at least 13). like the original input the trails form a 6 x 6 lattice
+ * of junctions, so the longest hike stays feasible for every size. slopes around the junctions only allow
+ * going east and south.
+ */
+final class Day23Generator implements InputGenerator {
+    private static final int LINES = 6;
+
+    @Override
+    public int defaultSize() {
+        return 141;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        if (size < 2 * LINES + 1) {
+            throw new IllegalArgumentException("day 23 needs a size of at least " + (2 * LINES + 1));
+        }
+        int[] columns = getLines(size, random);
+        int[] rows = getLines(size, random);
+        char[][] map = new char[size][size];
+        for (char[] line : map) {
+            Arrays.fill(line, '#');
+        }
+        for (int row : rows) {
+            for (int x = columns[0]; x <= columns[LINES - 1]; x++) {
+                map[row][x] = '.';
+            }
+        }
+        for (int column : columns) {
+            for (int y = rows[0]; y <= rows[LINES - 1]; y++) {
+                map[y][column] = '.';
+            }
+        }
+        for (int i = 0; i + 1 < LINES; i++) {
+            for (int row : rows) {
+                map[row][columns[i] + 1] = '>';
+                map[row][columns[i + 1] - 1] = '>';
+            }
+            for (int column : columns) {
+                map[rows[i] + 1][column] = 'v';
+                map[rows[i + 1] - 1][column] = 'v';
+            }
+        }
+        map[0][1] = '.';
+        map[size - 1][size - 2] = '.';
+        return new ArrayList<>(Arrays.stream(map).map(String::new).toList());
+    }
+
+    /**
+     * @return positions of the trails from 1 to size - 2 with at least one tree between neighbours
+     */
+    private static int[] getLines(int size, Random random) {
+        TreeSet<Integer> lines;
+        do {
+            lines = new TreeSet<>(List.of(1, size - 2));
+            while (lines.size() < LINES) {
+                lines.add(2 + random.nextInt(size - 4));
+            }
+        } while (hasNeighbouringLines(lines));
+        return lines.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static boolean hasNeighbouringLines(TreeSet<Integer> lines) {
+        Integer previous = null;
+        for (int line : lines) {
+            if (previous != null && line - previous < 2) {
+                return true;
+            }
+            previous = line;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * size: amount of games
+ */
+final class Day2Generator implements InputGenerator {
+    private static final String[] COLORS = {"red", "green", "blue"};
+
+    @Override
+    public int defaultSize() {
+        return 100;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        List<String> result = new ArrayList<>(size);
+        for (int game = 1; game <= size; game++) {
+            StringJoiner draws = new StringJoiner("; ");
+            int drawAmount = 1 + random.nextInt(6);
+            for (int draw = 0; draw < drawAmount; draw++) {
+                StringJoiner cubes = new StringJoiner(", ");
+                int colors = 1 + random.nextInt((1 << COLORS.length) - 1);
+                for (int color = 0; color < COLORS.length; color++) {
+                    if ((colors & (1 << color)) != 0) {
+                        cubes.add((1 + random.nextInt(20)) + " " + COLORS[color]);
+                    }
+                }
+                draws.add(cubes.toString());
+            }
+            result.add("Game " + game + ": " + draws);
+        }
+        return result;
+    }
+}
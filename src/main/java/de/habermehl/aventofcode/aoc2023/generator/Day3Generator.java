@@ -0,0 +1,43 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * size: width and height of the engine schematic
+ */
+final class Day3Generator implements InputGenerator {
+    private static final String SYMBOLS = "**********#+$/@%=&-";
+
+    @Override
+    public int defaultSize() {
+        return 140;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        List<String> result = new ArrayList<>(size);
+        for (int y = 0; y < size; y++) {
+            char[] line = new char[size];
+            Arrays.fill(line, '.');
+            int x = random.nextInt(4);
+            while (x < size) {
+                if (random.nextInt(3) == 0) {
+                    line[x] = SYMBOLS.charAt(random.nextInt(SYMBOLS.length()));
+                    x += 2 + random.nextInt(4);
+                } else {
+                    int digits = Math.min(1 + random.nextInt(3), size - x);
+                    line[x] = (char) ('1' + random.nextInt(9));
+                    for (int i = 1; i < digits; i++) {
+                        line[x + i] = (char) ('0' + random.nextInt(10));
+                    }
+                    x += digits + 1 + random.nextInt(4);
+                }
+            }
+            result.add(new String(line));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,45 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * size: amount of cards. most cards have no or few matching numbers, so the amount of won copies in part 2
+ * grows linear with the size instead of exponential.
+ */
+final class Day4Generator implements InputGenerator {
+    private static final int WINNING_NUMBERS = 10;
+    private static final int NUMBERS = 25;
+    private static final int[] MATCHING_AMOUNTS = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 2, 2, 5};
+
+    @Override
+    public int defaultSize() {
+        return 211;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        List<String> result = new ArrayList<>(size);
+        List<Integer> candidates = IntStream.rangeClosed(1, 99).boxed().collect(Collectors.toCollection(ArrayList::new));
+        for (int card = 1; card <= size; card++) {
+            Collections.shuffle(candidates, random);
+            int matchingAmount = MATCHING_AMOUNTS[random.nextInt(MATCHING_AMOUNTS.length)];
+            List<Integer> winningNumbers = candidates.subList(0, WINNING_NUMBERS);
+            List<Integer> numbers = new ArrayList<>(candidates.subList(0, matchingAmount));
+            numbers.addAll(candidates.subList(WINNING_NUMBERS, WINNING_NUMBERS + NUMBERS - matchingAmount));
+            Collections.shuffle(numbers, random);
+            result.add(String.format("Card %3d: %s | %s", card, format(winningNumbers), format(numbers)));
+        }
+        return result;
+    }
+
+    private static String format(List<Integer> numbers) {
+        return numbers.stream()
+                .map(number -> String.format("%2d", number))
+                .collect(Collectors.joining(" "));
+    }
+}
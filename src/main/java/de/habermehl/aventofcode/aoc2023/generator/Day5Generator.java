@@ -0,0 +1,49 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+/**
+ * size: amount of ranges per map. the source ranges of a map don't overlap.
+ */
+final class Day5Generator implements InputGenerator {
+    private static final String[] RESOURCES = {"seed", "soil", "fertilizer", "water", "light", "temperature", "humidity", "location"};
+    private static final long MAX_VALUE = 1L << 32;
+    private static final int SEED_RANGES = 10;
+
+    @Override
+    public int defaultSize() {
+        return 30;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        List<String> result = new ArrayList<>();
+        StringJoiner seeds = new StringJoiner(" ", "seeds: ", "");
+        for (int i = 0; i < SEED_RANGES; i++) {
+            seeds.add(Long.toString(random.nextLong(MAX_VALUE / 2)));
+            seeds.add(Long.toString(1 + random.nextLong(MAX_VALUE / 16)));
+        }
+        result.add(seeds.toString());
+        for (int i = 0; i + 1 < RESOURCES.length; i++) {
+            result.add("");
+            result.add(RESOURCES[i] + "-to-" + RESOURCES[i + 1] + " map:");
+            TreeSet<Long> borders = new TreeSet<>();
+            borders.add(MAX_VALUE);
+            while (borders.size() <= size) {
+                borders.add(random.nextLong(MAX_VALUE));
+            }
+            long start = borders.pollFirst();
+            for (long end : borders) {
+                long length = Math.max(1, (end - start) - random.nextLong((end - start) / 2 + 1));
+                long destination = random.nextLong(MAX_VALUE - length + 1);
+                result.add(destination + " " + start + " " + length);
+                start = end;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,33 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * size: amount of races. part 2 joins all times and distances to one race, which has to fit into a long, so
+ * at most 4 races are supported. times have two digits, distances three digits, so that every race (the
+ * joined one included) can be won.
+ */
+final class Day6Generator implements InputGenerator {
+    private static final int MAX_RACES = 4;
+
+    @Override
+    public int defaultSize() {
+        return 4;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        if (size < 1 || size > MAX_RACES) {
+            throw new IllegalArgumentException("day 6 supports 1 to " + MAX_RACES + " races");
+        }
+        StringBuilder times = new StringBuilder("Time:    ");
+        StringBuilder distances = new StringBuilder("Distance:");
+        for (int i = 0; i < size; i++) {
+            times.append(String.format("%7d", 64 + random.nextInt(36)));
+            distances.append(String.format("%7d", 100 + random.nextInt(900)));
+        }
+        return new ArrayList<>(List.of(times.toString(), distances.toString()));
+    }
+}
@@ -0,0 +1,42 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * size: amount of hands. every hand appears only once, so there are at most 13^5 hands.
+ */
+final class Day7Generator implements InputGenerator {
+    private static final String CARDS = "23456789TJQKA";
+    private static final int MAX_HANDS = (int) Math.pow(CARDS.length(), 5);
+
+    @Override
+    public int defaultSize() {
+        return 1000;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        if (size > MAX_HANDS) {
+            throw new IllegalArgumentException("day 7 supports at most " + MAX_HANDS + " different hands");
+        }
+        int[] hands = new int[MAX_HANDS];
+        for (int i = 0; i < hands.length; i++) {
+            hands[i] = i;
+        }
+        List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int swap = i + random.nextInt(hands.length - i);
+            int hand = hands[swap];
+            hands[swap] = hands[i];
+            char[] cards = new char[5];
+            for (int card = 0; card < cards.length; card++) {
+                cards[card] = CARDS.charAt(hand % CARDS.length());
+                hand /= CARDS.length();
+            }
+            result.add(new String(cards) + " " + (1 + random.nextInt(1000)));
+        }
+        return result;
+    }
+}
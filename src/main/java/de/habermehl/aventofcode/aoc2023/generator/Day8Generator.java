@@ -0,0 +1,78 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * size: amount of nodes (up to 10^6). like the original input every ghost walks along its own loop, which it
+ * enters from its start node ending with A and whose length is a multiple of a distinct prime. so the least
+ * common multiple of part 2 fits into a long.
+ */
+final class Day8Generator implements InputGenerator {
+    private static final int GHOSTS = 6;
+    private static final int MAX_NODES = 1_000_000;
+    private static final List<Integer> PRIMES = List.of(41, 43, 47, 53, 59, 61, 67, 71, 73, 79);
+
+    @Override
+    public int defaultSize() {
+        return 790;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        if (size > MAX_NODES) {
+            throw new IllegalArgumentException("day 8 supports at most " + MAX_NODES + " nodes");
+        }
+        List<Integer> primes = new ArrayList<>(PRIMES);
+        Collections.shuffle(primes, random);
+        int factor = Math.max(1, size / (GHOSTS * 60));
+        int nameLength = 3;
+        while (Math.pow(26, nameLength - 1) * 24 < size) {
+            nameLength++;
+        }
+        List<String> nodes = new ArrayList<>();
+        int nextName = 0;
+        for (int ghost = 0; ghost < GHOSTS; ghost++) {
+            int steps = factor * primes.get(ghost);
+            String start = ghost == 0 ? "AAA" : getName(ghost, nameLength, 'A');
+            String end = ghost == 0 ? "ZZZ" : getName(ghost, nameLength, 'Z');
+            List<String> loop = new ArrayList<>();
+            for (int i = 1; i < steps; i++) {
+                loop.add(getName(nextName / 24, nameLength, (char) ('B' + nextName % 24)));
+                nextName++;
+            }
+            loop.add(end);
+            nodes.add(getNode(start, loop.get(0)));
+            for (int i = 0; i < loop.size(); i++) {
+                nodes.add(getNode(loop.get(i), loop.get((i + 1) % loop.size())));
+            }
+        }
+        Collections.shuffle(nodes, random);
+        StringBuilder directions = new StringBuilder();
+        int directionsLength = 50 + random.nextInt(250);
+        for (int i = 0; i < directionsLength; i++) {
+            directions.append(random.nextBoolean() ? 'L' : 'R');
+        }
+        List<String> result = new ArrayList<>(nodes.size() + 2);
+        result.add(directions.toString());
+        result.add("");
+        result.addAll(nodes);
+        return result;
+    }
+
+    private static String getNode(String name, String next) {
+        return name + " = (" + next + ", " + next + ")";
+    }
+
+    private static String getName(int number, int length, char suffix) {
+        char[] name = new char[length];
+        name[length - 1] = suffix;
+        for (int i = length - 2; i >= 0; i--) {
+            name[i] = (char) ('A' + number % 26);
+            number /= 26;
+        }
+        return new String(name);
+    }
+}
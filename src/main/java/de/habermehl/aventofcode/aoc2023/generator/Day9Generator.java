@@ -0,0 +1,40 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * size: amount of histories, each one being the first 21 values of a random polynomial
+ */
+final class Day9Generator implements InputGenerator {
+    private static final int VALUES = 21;
+
+    @Override
+    public int defaultSize() {
+        return 200;
+    }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long[] coefficients = new long[1 + random.nextInt(10)];
+            for (int c = 0; c < coefficients.length; c++) {
+                coefficients[c] = random.nextInt(11) - 5;
+            }
+            int start = random.nextInt(11) - 5;
+            StringJoiner history = new StringJoiner(" ");
+            for (int x = start; x < start + VALUES; x++) {
+                long value = 0;
+                for (int c = coefficients.length - 1; c >= 0; c--) {
+                    value = value * x + coefficients[c];
+                }
+                history.add(Long.toString(value));
+            }
+            result.add(history.toString());
+        }
+        return result;
+    }
+}
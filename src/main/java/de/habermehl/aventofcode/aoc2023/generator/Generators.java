@@ -0,0 +1,77 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import de.habermehl.aventofcode.aoc2023.runner.RunnerOptions;
+
+/**
+ * writes generated inputs in the layout of the resources, so they can be solved with Runner --input-dir:
+ * <pre>Generators --output-dir=directory [--size=N] [--seed=S] [day...]</pre>
+ * without a size every day gets an input of the size of its original puzzle input.
+ */
+public final class Generators {
+    private static final Map<Integer, InputGenerator> GENERATORS = new TreeMap<>(Map.ofEntries(
+            Map.entry(1, new Day1Generator()),
+            Map.entry(2, new Day2Generator()),
+            Map.entry(3, new Day3Generator()),
+            Map.entry(4, new Day4Generator()),
+            Map.entry(5, new Day5Generator()),
+            Map.entry(6, new Day6Generator()),
+            Map.entry(7, new Day7Generator()),
+            Map.entry(8, new Day8Generator()),
+            Map.entry(9, new Day9Generator()),
+            Map.entry(10, new Day10Generator()),
+            Map.entry(11, new Day11Generator()),
+            Map.entry(12, new Day12Generator()),
+            Map.entry(13, new Day13Generator()),
+            Map.entry(14, new Day14Generator()),
+            Map.entry(15, new Day15Generator()),
+            Map.entry(16, new Day16Generator()),
+            Map.entry(17, new Day17Generator()),
+            Map.entry(18, new Day18Generator()),
+            Map.entry(19, new Day19Generator()),
+            Map.entry(20, new Day20Generator()),
+            Map.entry(21, new Day21Generator()),
+            Map.entry(22, new Day22Generator()),
+            Map.entry(23, new Day23Generator())));
+
+    private Generators() {
+        // nothing to initialize
+    }
+
+    public static InputGenerator get(int day) {
+        InputGenerator generator = GENERATORS.get(day);
+        if (generator == null) {
+            throw new IllegalArgumentException("no generator for day " + day);
+        }
+        return generator;
+    }
+
+    public static List<String> generate(int day, int size, long seed) {
+        return get(day).generate(size, new Random(seed));
+    }
+
+    public static void main(String... args) throws IOException {
+        RunnerOptions options = RunnerOptions.parse(args);
+        String outputDirectory = options.values().get("output-dir");
+        if (outputDirectory == null) {
+            throw new IllegalArgumentException("usage: Generators --output-dir=directory [--size=N] [--seed=S] [day...]");
+        }
+        long seed = Long.parseLong(options.values().getOrDefault("seed", "0"));
+        List<Integer> days = options.days().isEmpty() ? List.copyOf(GENERATORS.keySet()) : options.days();
+        for (int day : days) {
+            InputGenerator generator = get(day);
+            int size = options.getInt("size", generator.defaultSize());
+            Path file = Path.of(outputDirectory).resolve(String.format("aoc2023/day%02d/input", day));
+            Files.createDirectories(file.getParent());
+            Files.write(file, generator.generate(size, new Random(seed)));
+            System.out.printf("day %d: size %d -> %s%n", day, size, file);
+        }
+    }
+}
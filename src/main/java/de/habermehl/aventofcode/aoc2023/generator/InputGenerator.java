@@ -0,0 +1,17 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * creates valid puzzle inputs of a given size. all randomness comes from the given random, so the same
+ * seed always creates the same input.
+ */
+public interface InputGenerator {
+    /**
+     * @return the size of the original puzzle input
+     */
+    int defaultSize();
+
+    List<String> generate(int size, Random random);
+}
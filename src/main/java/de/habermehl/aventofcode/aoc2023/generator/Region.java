@@ -0,0 +1,168 @@
+package de.habermehl.aventofcode.aoc2023.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import de.habermehl.aventofcode.aoc2023.Direction;
+
+/**
+ * a random connected set of cells without holes and without cells touching only diagonally, so its border
+ * is a simple closed loop
+ */
+final class Region {
+    private final boolean[][] cells;
+
+    private Region(boolean[][] cells) {
+        this.cells = cells;
+    }
+
+    /**
+     * grows a region from the center until it covers about the given share of the size x size cells
+     */
+    static Region grow(int size, double share, Random random) {
+        boolean[][] cells = new boolean[size][size];
+        List<int[]> frontier = new ArrayList<>();
+        frontier.add(new int[] { size / 2, size / 2 });
+        long target = Math.max(1, Math.round(share * size * size));
+        long count = 0;
+        while (count < target && !frontier.isEmpty()) {
+            int index = random.nextInt(frontier.size());
+            int[] cell = frontier.get(index);
+            frontier.set(index, frontier.get(frontier.size() - 1));
+            frontier.remove(frontier.size() - 1);
+            int x = cell[0];
+            int y = cell[1];
+            if (cells[y][x]) {
+                continue;
+            }
+            cells[y][x] = true;
+            count++;
+            for (Direction direction : Direction.values()) {
+                int neighborX = x + (int) direction.x();
+                int neighborY = y + (int) direction.y();
+                if (neighborX >= 0 && neighborX < size && neighborY >= 0 && neighborY < size && !cells[neighborY][neighborX]) {
+                    frontier.add(new int[] { neighborX, neighborY });
+                }
+            }
+        }
+        Region region = new Region(cells);
+        boolean changed;
+        do {
+            changed = region.fillHoles() | region.removeDiagonalTouches();
+        } while (changed);
+        return region;
+    }
+
+    private boolean fillHoles() {
+        int size = cells.length;
+        boolean[][] outside = new boolean[size][size];
+        int[] queue = new int[size * size];
+        int tail = 0;
+        for (int i = 0; i < size; i++) {
+            for (int[] cell : new int[][] { { i, 0 }, { i, size - 1 }, { 0, i }, { size - 1, i } }) {
+                if (!cells[cell[1]][cell[0]] && !outside[cell[1]][cell[0]]) {
+                    outside[cell[1]][cell[0]] = true;
+                    queue[tail++] = cell[1] * size + cell[0];
+                }
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int x = queue[head] % size;
+            int y = queue[head] / size;
+            for (Direction direction : Direction.values()) {
+                int neighborX = x + (int) direction.x();
+                int neighborY = y + (int) direction.y();
+                if (neighborX >= 0 && neighborX < size && neighborY >= 0 && neighborY < size
+                        && !cells[neighborY][neighborX] && !outside[neighborY][neighborX]) {
+                    outside[neighborY][neighborX] = true;
+                    queue[tail++] = neighborY * size + neighborX;
+                }
+            }
+        }
+        boolean changed = false;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (!cells[y][x] && !outside[y][x]) {
+                    cells[y][x] = true;
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    private boolean removeDiagonalTouches() {
+        boolean changed = false;
+        for (int y = 1; y < cells.length; y++) {
+            for (int x = 1; x < cells.length; x++) {
+                boolean northWest = cells[y - 1][x - 1];
+                boolean northEast = cells[y - 1][x];
+                boolean southWest = cells[y][x - 1];
+                boolean southEast = cells[y][x];
+                if (northWest == southEast && northEast == southWest && northWest != northEast) {
+                    cells[y - 1][northWest ? x : x - 1] = true;
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * walks clockwise along the border of the region. the corners of the cells are the points of the loop,
+     * so a region of size x size cells has a loop within (size + 1) x (size + 1) points.
+     *
+     * @return the first point and the directions of the steps from there
+     */
+    Loop getBorder() {
+        for (int y = 0; y < cells.length; y++) {
+            for (int x = 0; x < cells.length; x++) {
+                if (cells[y][x]) {
+                    return traceBorder(x, y);
+                }
+            }
+        }
+        throw new IllegalStateException("empty region");
+    }
+
+    private Loop traceBorder(int startX, int startY) {
+        List<Direction> steps = new ArrayList<>();
+        int x = startX;
+        int y = startY;
+        do {
+            Direction direction = getBorderDirection(x, y);
+            steps.add(direction);
+            x += (int) direction.x();
+            y += (int) direction.y();
+        } while (x != startX || y != startY);
+        return new Loop(startX, startY, steps);
+    }
+
+    /**
+     * the region is always on the right hand side of the walking direction
+     */
+    private Direction getBorderDirection(int x, int y) {
+        boolean northWest = isInside(x - 1, y - 1);
+        boolean northEast = isInside(x, y - 1);
+        boolean southWest = isInside(x - 1, y);
+        boolean southEast = isInside(x, y);
+        if (southEast && !northEast) {
+            return Direction.EAST;
+        } else if (southWest && !southEast) {
+            return Direction.SOUTH;
+        } else if (northWest && !southWest) {
+            return Direction.WEST;
+        } else if (northEast && !northWest) {
+            return Direction.NORTH;
+        }
+        throw new IllegalStateException("no border at " + x + "," + y);
+    }
+
+    private boolean isInside(int x, int y) {
+        return x >= 0 && y >= 0 && x < cells.length && y < cells.length && cells[y][x];
+    }
+
+    record Loop(int startX, int startY, List<Direction> steps) {
+    }
+}
@@ -0,0 +1,58 @@
+package de.habermehl.aventofcode.aoc2023.graph;
+
+import java.util.Arrays;
+
+/**
+ * unweighted shortest paths, edge weights are ignored
+ */
+public final class BreadthFirstSearch {
+    public static final int UNREACHABLE = -1;
+
+    private BreadthFirstSearch() {
+        // nothing to initialize
+    }
+
+    /**
+     * @return the amount of edges from the nearest source per node, or {@link #UNREACHABLE}
+     */
+    public static int[] distances(Graph graph, int... sources) {
+        int[] distances = new int[graph.nodeCount()];
+        Arrays.fill(distances, UNREACHABLE);
+        int[] queue = new int[graph.nodeCount()];
+        int tail = 0;
+        for (int source : sources) {
+            if (distances[source] == UNREACHABLE) {
+                distances[source] = 0;
+                queue[tail++] = source;
+            }
+        }
+        Frontier frontier = new Frontier(distances, queue, tail);
+        for (int head = 0; head < frontier.tail; head++) {
+            int node = queue[head];
+            frontier.nextDistance = distances[node] + 1;
+            graph.forEachEdge(node, frontier);
+        }
+        return distances;
+    }
+
+    private static final class Frontier implements Graph.EdgeConsumer {
+        private final int[] distances;
+        private final int[] queue;
+        private int tail;
+        private int nextDistance;
+
+        private Frontier(int[] distances, int[] queue, int tail) {
+            this.distances = distances;
+            this.queue = queue;
+            this.tail = tail;
+        }
+
+        @Override
+        public void accept(int target, int weight) {
+            if (distances[target] == UNREACHABLE) {
+                distances[target] = nextDistance;
+                queue[tail++] = target;
+            }
+        }
+    }
+}
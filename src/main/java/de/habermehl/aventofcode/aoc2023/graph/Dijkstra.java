@@ -0,0 +1,194 @@
+package de.habermehl.aventofcode.aoc2023.graph;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+import de.habermehl.aventofcode.aoc2023.HotLoopCounter;
+
+/**
+ * weighted shortest paths for non-negative edge weights. the binary heap variant works for all weights,
+ * the bucket queue variant (Dial's algorithm) is faster for small integer weights up to a known maximum.
+ */
+public final class Dijkstra {
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private Dijkstra() {
+        // nothing to initialize
+    }
+
+    /**
+     * @return the distance from the nearest source per node, or {@link #UNREACHABLE}
+     */
+    public static long[] distances(Graph graph, int... sources) {
+        return search(graph, new BinaryHeap(), node -> false, sources).distances;
+    }
+
+    /**
+     * @return the distance from the nearest source to the nearest target, or {@link #UNREACHABLE}
+     */
+    public static long distance(Graph graph, IntPredicate target, int... sources) {
+        return search(graph, new BinaryHeap(), target, sources).targetDistance;
+    }
+
+    public static long[] bucketDistances(Graph graph, int maxWeight, int... sources) {
+        return search(graph, new BucketQueue(maxWeight), node -> false, sources).distances;
+    }
+
+    public static long bucketDistance(Graph graph, int maxWeight, IntPredicate target, int... sources) {
+        return search(graph, new BucketQueue(maxWeight), target, sources).targetDistance;
+    }
+
+    private static Relaxation search(Graph graph, NodeQueue queue, IntPredicate target, int[] sources) {
+        Relaxation relaxation = new Relaxation(graph.nodeCount(), queue);
+        for (int source : sources) {
+            relaxation.currentDistance = 0;
+            relaxation.accept(source, 0);
+        }
+        boolean[] settled = new boolean[graph.nodeCount()];
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            if (settled[node]) {
+                continue;
+            }
+            settled[node] = true;
+            if (target.test(node)) {
+                relaxation.targetDistance = relaxation.distances[node];
+                break;
+            }
+            relaxation.currentDistance = relaxation.distances[node];
+            graph.forEachEdge(node, relaxation);
+        }
+        return relaxation;
+    }
+
+    private static final class Relaxation implements Graph.EdgeConsumer {
+        private final long[] distances;
+        private final NodeQueue queue;
+        private long currentDistance;
+        private long targetDistance = UNREACHABLE;
+
+        private Relaxation(int nodeCount, NodeQueue queue) {
+            this.distances = new long[nodeCount];
+            this.queue = queue;
+            Arrays.fill(distances, UNREACHABLE);
+        }
+
+        @Override
+        public void accept(int target, int weight) {
+            long distance = currentDistance + weight;
+            if (distance < distances[target]) {
+                HotLoopCounter.SHORTEST_PATH_RELAXATIONS.increment();
+                distances[target] = distance;
+                queue.add(target, distance);
+            }
+        }
+    }
+
+    /**
+     * priority queue of nodes, a node may be added several times (lazy deletion)
+     */
+    private interface NodeQueue {
+        void add(int node, long priority);
+
+        boolean isEmpty();
+
+        int poll();
+    }
+
+    private static final class BinaryHeap implements NodeQueue {
+        private int[] nodes = new int[64];
+        private long[] priorities = new long[64];
+        private int size;
+
+        @Override
+        public void add(int node, long priority) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                priorities = Arrays.copyOf(priorities, size * 2);
+            }
+            int index = size++;
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (priorities[parent] <= priority) {
+                    break;
+                }
+                nodes[index] = nodes[parent];
+                priorities[index] = priorities[parent];
+                index = parent;
+            }
+            nodes[index] = node;
+            priorities[index] = priority;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public int poll() {
+            int result = nodes[0];
+            size--;
+            int node = nodes[size];
+            long priority = priorities[size];
+            int index = 0;
+            int child;
+            while ((child = 2 * index + 1) < size) {
+                if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+                    child++;
+                }
+                if (priority <= priorities[child]) {
+                    break;
+                }
+                nodes[index] = nodes[child];
+                priorities[index] = priorities[child];
+                index = child;
+            }
+            nodes[index] = node;
+            priorities[index] = priority;
+            return result;
+        }
+    }
+
+    /**
+     * circular array of buckets, one per distance modulo (max weight + 1). this only works because
+     * dijkstra never adds a node closer than the last polled one.
+     */
+    private static final class BucketQueue implements NodeQueue {
+        private final int[][] buckets;
+        private final int[] bucketSizes;
+        private long current;
+        private int size;
+
+        private BucketQueue(int maxWeight) {
+            buckets = new int[maxWeight + 1][16];
+            bucketSizes = new int[maxWeight + 1];
+        }
+
+        @Override
+        public void add(int node, long priority) {
+            int bucket = (int) (priority % buckets.length);
+            if (bucketSizes[bucket] == buckets[bucket].length) {
+                buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] * 2);
+            }
+            buckets[bucket][bucketSizes[bucket]++] = node;
+            size++;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public int poll() {
+            int bucket = (int) (current % buckets.length);
+            while (bucketSizes[bucket] == 0) {
+                current++;
+                bucket = (int) (current % buckets.length);
+            }
+            size--;
+            return buckets[bucket][--bucketSizes[bucket]];
+        }
+    }
+}
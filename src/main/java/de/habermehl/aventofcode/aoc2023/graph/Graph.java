@@ -0,0 +1,17 @@
+package de.habermehl.aventofcode.aoc2023.graph;
+
+/**
+ * a directed graph whose nodes (or search states) are encoded as ints from 0 (inclusive) to
+ * {@link #nodeCount()} (exclusive). edges are reported to a visitor, so implementations don't have to
+ * create collections.
+ */
+public interface Graph {
+    int nodeCount();
+
+    void forEachEdge(int node, EdgeConsumer consumer);
+
+    @FunctionalInterface
+    interface EdgeConsumer {
+        void accept(int target, int weight);
+    }
+}
@@ -0,0 +1,77 @@
+package de.habermehl.aventofcode.aoc2023.graph;
+
+import java.util.Arrays;
+
+import de.habermehl.aventofcode.aoc2023.HotLoopCounter;
+
+/**
+ * longest simple path by exhaustive depth first search. the effort is exponential, so this is meant for
+ * small graphs like the junctions of a maze.
+ */
+public final class LongestPath {
+    public static final long UNREACHABLE = Long.MIN_VALUE;
+
+    private final int[][] targets;
+    private final int[][] weights;
+    private final boolean[] visited;
+    private final int end;
+
+    private LongestPath(Graph graph, int end) {
+        int nodeCount = graph.nodeCount();
+        targets = new int[nodeCount][];
+        weights = new int[nodeCount][];
+        visited = new boolean[nodeCount];
+        this.end = end;
+        EdgeList edges = new EdgeList();
+        for (int node = 0; node < nodeCount; node++) {
+            edges.size = 0;
+            graph.forEachEdge(node, edges);
+            targets[node] = Arrays.copyOf(edges.targets, edges.size);
+            weights[node] = Arrays.copyOf(edges.weights, edges.size);
+        }
+    }
+
+    /**
+     * @return the length of the longest path from start to end visiting no node twice, or {@link #UNREACHABLE}
+     */
+    public static long length(Graph graph, int start, int end) {
+        return new LongestPath(graph, end).search(start);
+    }
+
+    private long search(int node) {
+        if (node == end) {
+            return 0;
+        }
+        HotLoopCounter.LONGEST_PATH_EXPANSIONS.increment();
+        visited[node] = true;
+        long longest = UNREACHABLE;
+        int[] nodeTargets = targets[node];
+        for (int i = 0; i < nodeTargets.length; i++) {
+            int target = nodeTargets[i];
+            if (!visited[target]) {
+                long length = search(target);
+                if (length != UNREACHABLE) {
+                    longest = Math.max(longest, length + weights[node][i]);
+                }
+            }
+        }
+        visited[node] = false;
+        return longest;
+    }
+
+    private static final class EdgeList implements Graph.EdgeConsumer {
+        private int[] targets = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        @Override
+        public void accept(int target, int weight) {
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            targets[size] = target;
+            weights[size++] = weight;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package de.habermehl.aventofcode.aoc2023.runner;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import de.habermehl.aventofcode.aoc2023.HotLoopCounters;
+
+/**
+ * solves every file within a directory as input of the given day, all within one JVM:
+ * <pre>BatchRunner --input-dir=directory [--parallelism=N] [--output=path] [--cache=directory] day</pre>
+ * writes one tab separated line per file (in the order of the file names): file name, part1, part2 and the
+ * milliseconds needed to parse and solve (or to look up the cached answers), or the file name and the error.
+ * each file is solved like a day of the {@link Runner}, including its measurements and phase events.
+ */
+public final class BatchRunner {
+    private BatchRunner() {
+        // nothing to initialize
+    }
+
+    public static void main(String... args) throws IOException {
+        RunnerOptions options = RunnerOptions.parse(args);
+        String inputDirectory = options.values().get("input-dir");
+        if (inputDirectory == null || options.days().size() != 1) {
+            throw new IllegalArgumentException("usage: BatchRunner --input-dir=directory [--parallelism=N] [--output=path] [--cache=directory] day");
+        }
+        int dayNumber = options.days().get(0);
+        PuzzleDay day = PuzzleDay.discover().stream()
+                .filter(options::includes)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("day " + dayNumber + " not found"));
+        String cacheDirectory = options.values().get("cache");
+        ResultCache cache = cacheDirectory == null ? null : new ResultCache(Path.of(cacheDirectory));
+        HotLoopCounters.register();
+
+        List<Path> inputFiles;
+        try (Stream<Path> files = Files.list(Path.of(inputDirectory))) {
+            inputFiles = files.filter(Files::isRegularFile).sorted().toList();
+        }
+        ForkJoinPool pool = new ForkJoinPool(options.getInt("parallelism", Runtime.getRuntime().availableProcessors()));
+        String output = options.values().get("output");
+        // stdout stays open for the rest of the JVM, only a file is closed
+        Writer writer = output == null ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8) : Files.newBufferedWriter(Path.of(output));
+        try {
+            List<CompletableFuture<String>> results = inputFiles.stream()
+                    .map(inputFile -> CompletableFuture.supplyAsync(() -> solve(day, inputFile, cache), pool))
+                    .toList();
+            for (CompletableFuture<String> result : results) {
+                writer.write(result.join());
+                writer.write(System.lineSeparator());
+            }
+            writer.flush();
+        } finally {
+            pool.shutdown();
+            if (output != null) {
+                writer.close();
+            }
+        }
+    }
+
+    static String solve(PuzzleDay day, Path inputFile, ResultCache cache) {
+        String fileName = inputFile.getFileName().toString();
+        List<String> inputLines;
+        try {
+            inputLines = Files.readAllLines(inputFile);
+        } catch (IOException e) {
+            return fileName + "\tfailed: " + new UncheckedIOException(e);
+        }
+        DayResult result = Runner.solve(day, inputLines, cache);
+        if (result.error() != null) {
+            return fileName + "\tfailed: " + result.error();
+        }
+        long wallNanos = result.parse().wallNanos() + result.part1().wallNanos() + result.part2().wallNanos();
+        return String.format("%s\t%s\t%s\t%.3f", fileName, result.part1().result(), result.part2().result(),
+                wallNanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,245 @@
+package de.habermehl.aventofcode.aoc2023.runner;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * stores the JSON results of a JMH run as a named baseline, or compares a new run against such a baseline:
+ * <pre>BenchmarkBaseline --save=name --results=file [--baselines=directory]
+ * BenchmarkBaseline --compare=name --results=file [--baselines=directory] [--threshold=percent] [day...]</pre>
+ * the results are written by e.g. <code>mvn -P jmh verify -Djmh.args="-prof gc -rf json -rff jmh-result.json"</code>.
+ * a benchmark is flagged if it got slower or allocates more by more than the threshold (5% by default), and the
+ * 99.9% confidence intervals reported by JMH don't overlap. the exit status is 1 if anything has been flagged.
+ * scores in different time units (e.g. after changing -tu) are converted to the unit of the baseline, benchmarks
+ * whose units can't be converted into each other are skipped with a warning.
+ */
+public final class BenchmarkBaseline {
+    private static final Pattern DAY = Pattern.compile("Day(\\d+)Benchmark");
+    private static final Map<String, Double> SECONDS = Map.of(
+            "ns", 1e-9,
+            "us", 1e-6,
+            "ms", 1e-3,
+            "s", 1.0,
+            "min", 60.0,
+            "hr", 3600.0,
+            "day", 86400.0);
+
+    private BenchmarkBaseline() {
+        // nothing to initialize
+    }
+
+    public static void main(String... args) throws IOException {
+        RunnerOptions options = RunnerOptions.parse(args);
+        String results = options.values().get("results");
+        String save = options.values().get("save");
+        String compare = options.values().get("compare");
+        if (results == null || (save == null) == (compare == null)) {
+            throw new IllegalArgumentException("usage: BenchmarkBaseline --save=name|--compare=name --results=file [--baselines=directory] [--threshold=percent] [day...]");
+        }
+        Path baselines = Path.of(options.values().getOrDefault("baselines", "jmh-baselines"));
+        if (save != null) {
+            Path baseline = save(baselines, save, Path.of(results));
+            System.out.println("saved baseline " + baseline);
+            return;
+        }
+        List<Comparison> comparisons = compare(read(baselines.resolve(compare + ".json")), read(Path.of(results)),
+                incomparable -> System.err.println("skipping " + incomparable.benchmark() + " " + incomparable.mode()
+                        + ": its unit can't be converted to the one of the baseline")).stream()
+                .filter(comparison -> options.days().isEmpty() || options.days().contains(comparison.current().day()))
+                .toList();
+        double threshold = options.getInt("threshold", 5) / 100.0;
+        System.out.println(String.format("%3s %-10s %-6s %16s %16s %8s %14s %14s %8s", "day", "phase", "mode",
+                "baseline", "current", "change", "baseline B/op", "current B/op", "change"));
+        boolean regressed = false;
+        for (Comparison comparison : comparisons) {
+            System.out.println(comparison.format(threshold));
+            regressed |= comparison.isSlower(threshold) || comparison.allocatesMore(threshold);
+        }
+        if (regressed) {
+            System.exit(1);
+        }
+    }
+
+    static Path save(Path baselines, String name, Path results) throws IOException {
+        // fail before storing a file that can't be compared later
+        read(results);
+        Files.createDirectories(baselines);
+        return Files.copy(results, baselines.resolve(name + ".json"), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @param incomparable is called with the current results whose time unit can't be converted to the baseline
+     * @return a comparison per benchmark contained in both runs, ordered by day and phase. the current scores
+     *         are converted to the units of the baseline, allocations in different units are left out.
+     */
+    static List<Comparison> compare(List<Result> baseline, List<Result> current, Consumer<Result> incomparable) {
+        Map<String, Result> baselineByKey = new LinkedHashMap<>();
+        baseline.forEach(result -> baselineByKey.put(result.key(), result));
+        List<Comparison> result = new ArrayList<>();
+        for (Result currentResult : current) {
+            Result baselineResult = baselineByKey.get(currentResult.key());
+            if (baselineResult == null) {
+                continue;
+            }
+            Optional<Score> time = currentResult.time().convertTo(baselineResult.time().unit());
+            if (time.isEmpty()) {
+                incomparable.accept(currentResult);
+                continue;
+            }
+            Score allocation = baselineResult.allocation() == null || currentResult.allocation() == null ? null
+                    : currentResult.allocation().convertTo(baselineResult.allocation().unit()).orElse(null);
+            result.add(new Comparison(baselineResult, currentResult.withScores(time.get(), allocation)));
+        }
+        result.sort(Comparator.comparingInt((Comparison comparison) -> comparison.current().day())
+                .thenComparing(comparison -> comparison.current().phase())
+                .thenComparing(comparison -> comparison.current().mode()));
+        return result;
+    }
+
+    static List<Result> read(Path file) throws IOException {
+        if (!(Json.parse(Files.readString(file, StandardCharsets.UTF_8)) instanceof List<?> benchmarks)) {
+            throw new IllegalArgumentException(file + " doesn't contain JMH results");
+        }
+        List<Result> result = new ArrayList<>();
+        for (Object benchmark : benchmarks) {
+            Map<?, ?> values = (Map<?, ?>) benchmark;
+            String name = (String) values.get("benchmark");
+            Matcher matcher = DAY.matcher(name);
+            Map<?, ?> secondaryMetrics = values.get("secondaryMetrics") instanceof Map<?, ?> metrics ? metrics : Map.of();
+            Score allocation = secondaryMetrics.entrySet().stream()
+                    .filter(metric -> metric.getKey().toString().endsWith("gc.alloc.rate.norm"))
+                    .map(metric -> Score.of((Map<?, ?>) metric.getValue()))
+                    .findFirst()
+                    .orElse(null);
+            result.add(new Result(name,
+                    matcher.find() ? Integer.parseInt(matcher.group(1)) : 0,
+                    name.substring(name.lastIndexOf('.') + 1),
+                    (String) values.get("mode"),
+                    values.get("params") instanceof Map<?, ?> params ? new TreeMap<>(params).toString() : "",
+                    Score.of((Map<?, ?>) values.get("primaryMetric")),
+                    allocation));
+        }
+        return result;
+    }
+
+    record Result(String benchmark, int day, String phase, String mode, String params, Score time, Score allocation) {
+        String key() {
+            return benchmark + " " + mode + " " + params;
+        }
+
+        Result withScores(Score time, Score allocation) {
+            return new Result(benchmark, day, phase, mode, params, time, allocation);
+        }
+
+        /**
+         * throughput is the only mode of JMH where higher scores are better
+         */
+        boolean isHigherBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    /**
+     * a score with the bounds of its confidence interval, which are NaN if JMH couldn't determine them
+     */
+    record Score(double value, double lower, double upper, String unit) {
+        static Score of(Map<?, ?> metric) {
+            List<?> confidence = metric.get("scoreConfidence") instanceof List<?> bounds ? bounds : List.of();
+            return new Score(Json.toDouble(metric.get("score")),
+                    confidence.size() == 2 ? Json.toDouble(confidence.get(0)) : Double.NaN,
+                    confidence.size() == 2 ? Json.toDouble(confidence.get(1)) : Double.NaN,
+                    String.valueOf(metric.get("scoreUnit")));
+        }
+
+        /**
+         * converts between time units of the same kind, i.e. between ms/op and us/op or between ops/s and ops/ms
+         *
+         * @return empty if the units can't be converted into each other
+         */
+        Optional<Score> convertTo(String targetUnit) {
+            if (unit.equals(targetUnit)) {
+                return Optional.of(this);
+            }
+            double factor = Double.NaN;
+            if (unit.endsWith("/op") && targetUnit.endsWith("/op")) {
+                factor = getSeconds(unit.substring(0, unit.length() - 3)) / getSeconds(targetUnit.substring(0, targetUnit.length() - 3));
+            } else if (unit.startsWith("ops/") && targetUnit.startsWith("ops/")) {
+                factor = getSeconds(targetUnit.substring(4)) / getSeconds(unit.substring(4));
+            }
+            return Double.isNaN(factor) ? Optional.empty() : Optional.of(new Score(value * factor, lower * factor, upper * factor, targetUnit));
+        }
+
+        private static double getSeconds(String timeUnit) {
+            return SECONDS.getOrDefault(timeUnit, Double.NaN);
+        }
+
+        boolean isSignificantlyAbove(Score other) {
+            if (Double.isNaN(lower) || Double.isNaN(other.upper)) {
+                return value > other.value;
+            }
+            return lower > other.upper;
+        }
+    }
+
+    record Comparison(Result baseline, Result current) {
+        /**
+         * @return the relative slowdown, negative if the current run is faster
+         */
+        double slowdown() {
+            return current.isHigherBetter()
+                    ? baseline.time().value() / current.time().value() - 1
+                    : current.time().value() / baseline.time().value() - 1;
+        }
+
+        boolean isSlower(double threshold) {
+            boolean significant = current.isHigherBetter()
+                    ? baseline.time().isSignificantlyAbove(current.time())
+                    : current.time().isSignificantlyAbove(baseline.time());
+            return significant && slowdown() > threshold;
+        }
+
+        /**
+         * @return the relative increase of the allocated bytes per operation, NaN if one of the runs wasn't
+         *         profiled with -prof gc. baselines below one byte count as one byte to ignore rounding noise.
+         */
+        double allocationIncrease() {
+            if (baseline.allocation() == null || current.allocation() == null) {
+                return Double.NaN;
+            }
+            return (current.allocation().value() - baseline.allocation().value()) / Math.max(baseline.allocation().value(), 1);
+        }
+
+        boolean allocatesMore(double threshold) {
+            return allocationIncrease() > threshold && current.allocation().isSignificantlyAbove(baseline.allocation());
+        }
+
+        String format(double threshold) {
+            String verdict = (isSlower(threshold) ? " SLOWER" : "") + (allocatesMore(threshold) ? " MORE-ALLOCATION" : "");
+            return String.format("%3d %-10s %-6s %16s %16s %+7.1f%% %14s %14s %+7.1f%%%s", current.day(), current.phase(), current.mode(),
+                    formatScore(baseline.time()), formatScore(current.time()), slowdown() * 100,
+                    formatBytes(baseline.allocation()), formatBytes(current.allocation()), allocationIncrease() * 100,
+                    verdict);
+        }
+
+        private static String formatScore(Score score) {
+            return String.format("%.4g %s", score.value(), score.unit());
+        }
+
+        private static String formatBytes(Score score) {
+            return score == null ? "-" : String.format("%.0f", score.value());
+        }
+    }
+}
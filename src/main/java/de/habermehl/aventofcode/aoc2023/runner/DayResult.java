@@ -0,0 +1,8 @@
+package de.habermehl.aventofcode.aoc2023.runner;
+
+public record DayResult(int day, Measurement<?> parse, Measurement<?> part1, Measurement<?> part2, Throwable error,
+                        boolean cached) {
+    public static DayResult failed(int day, Throwable error) {
+        return new DayResult(day, null, null, null, error, false);
+    }
+}
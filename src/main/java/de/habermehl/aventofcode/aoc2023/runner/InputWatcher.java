@@ -0,0 +1,89 @@
+package de.habermehl.aventofcode.aoc2023.runner;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import de.habermehl.aventofcode.aoc2023.Utils;
+
+/**
+ * solves a day again in the running JVM whenever its input file is changed, until the process is stopped
+ */
+final class InputWatcher {
+    /**
+     * editors often write a file in several steps, changes arriving within this time are handled together
+     */
+    private static final long SETTLE_MILLIS = 100;
+
+    private final List<PuzzleDay> days;
+    private final Path inputDirectory;
+    private final ResultCache cache;
+
+    InputWatcher(List<PuzzleDay> days, Path inputDirectory, ResultCache cache) {
+        this.days = days;
+        this.inputDirectory = inputDirectory;
+        this.cache = cache;
+    }
+
+    void watch() throws IOException {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            Map<WatchKey, PuzzleDay> watchedDays = new HashMap<>();
+            for (PuzzleDay day : days) {
+                Path inputFile = getInputFile(day);
+                if (Files.isDirectory(inputFile.getParent())) {
+                    watchedDays.put(inputFile.getParent().register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY), day);
+                }
+            }
+            System.out.printf("watching the inputs of %d days for changes%n", watchedDays.size());
+            while (true) {
+                Set<PuzzleDay> changedDays = new LinkedHashSet<>();
+                WatchKey key = watchService.take();
+                while (key != null) {
+                    PuzzleDay day = watchedDays.get(key);
+                    if (day != null && isInputChanged(key, getInputFile(day))) {
+                        changedDays.add(day);
+                    }
+                    key.reset();
+                    key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                for (PuzzleDay day : changedDays) {
+                    long start = System.nanoTime();
+                    DayResult result = Runner.solve(day, inputDirectory, cache);
+                    Runner.printResults(List.of(result), System.nanoTime() - start);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean isInputChanged(WatchKey key, Path inputFile) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || inputFile.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private Path getInputFile(PuzzleDay day) throws IOException {
+        if (inputDirectory != null) {
+            return Runner.getInputFile(day, inputDirectory);
+        }
+        return Utils.getInputPath(day.inputResource())
+                .orElseThrow(() -> new IOException("input of day " + day.number() + " is no plain file, use --input-dir to watch it"));
+    }
+}
@@ -0,0 +1,170 @@
+package de.habermehl.aventofcode.aoc2023.runner;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * just enough of a json parser to read the result files of JMH: objects become maps, arrays lists and numbers
+ * doubles
+ */
+final class Json {
+    private final String text;
+    private int position;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    static Object parse(String text) {
+        Json json = new Json(text);
+        Object value = json.readValue();
+        json.skipWhitespace();
+        if (json.position < text.length()) {
+            throw json.error("unexpected content after the value");
+        }
+        return value;
+    }
+
+    /**
+     * JMH writes values like NaN as strings
+     */
+    static double toDouble(Object value) {
+        if (value instanceof Double number) {
+            return number;
+        }
+        if (value instanceof String number) {
+            return Double.parseDouble(number);
+        }
+        return Double.NaN;
+    }
+
+    private Object readValue() {
+        skipWhitespace();
+        if (position >= text.length()) {
+            throw error("unexpected end");
+        }
+        return switch (text.charAt(position)) {
+            case '{' -> readObject();
+            case '[' -> readArray();
+            case '"' -> readString();
+            case 't' -> readLiteral("true", Boolean.TRUE);
+            case 'f' -> readLiteral("false", Boolean.FALSE);
+            case 'n' -> readLiteral("null", null);
+            default -> readNumber();
+        };
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        expect('{');
+        if (skip('}')) {
+            return result;
+        }
+        do {
+            skipWhitespace();
+            String key = readString();
+            expect(':');
+            result.put(key, readValue());
+        } while (skip(','));
+        expect('}');
+        return result;
+    }
+
+    private List<Object> readArray() {
+        List<Object> result = new ArrayList<>();
+        expect('[');
+        if (skip(']')) {
+            return result;
+        }
+        do {
+            result.add(readValue());
+        } while (skip(','));
+        expect(']');
+        return result;
+    }
+
+    private String readString() {
+        expect('"');
+        StringBuilder result = new StringBuilder();
+        while (position < text.length()) {
+            char c = text.charAt(position++);
+            if (c == '"') {
+                return result.toString();
+            }
+            if (c != '\\') {
+                result.append(c);
+                continue;
+            }
+            if (position >= text.length()) {
+                break;
+            }
+            char escaped = text.charAt(position++);
+            switch (escaped) {
+                case 'b' -> result.append('\b');
+                case 'f' -> result.append('\f');
+                case 'n' -> result.append('\n');
+                case 'r' -> result.append('\r');
+                case 't' -> result.append('\t');
+                case 'u' -> {
+                    if (position + 4 > text.length()) {
+                        throw error("incomplete unicode escape");
+                    }
+                    result.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    position += 4;
+                }
+                default -> result.append(escaped);
+            }
+        }
+        throw error("unterminated string");
+    }
+
+    private Object readLiteral(String literal, Object value) {
+        if (!text.startsWith(literal, position)) {
+            throw error("unexpected character");
+        }
+        position += literal.length();
+        return value;
+    }
+
+    private Double readNumber() {
+        int start = position;
+        while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+            position++;
+        }
+        if (start == position) {
+            throw error("unexpected character");
+        }
+        try {
+            return Double.valueOf(text.substring(start, position));
+        } catch (NumberFormatException e) {
+            throw error("invalid number " + text.substring(start, position));
+        }
+    }
+
+    private void expect(char expected) {
+        if (!skip(expected)) {
+            throw error("expected '" + expected + "'");
+        }
+    }
+
+    private boolean skip(char expected) {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("invalid json at offset " + position + ": " + message);
+    }
+}
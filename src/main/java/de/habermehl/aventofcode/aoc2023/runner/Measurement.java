@@ -0,0 +1,44 @@
+package de.habermehl.aventofcode.aoc2023.runner;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * result of an action together with the wall time, the cpu time and the bytes allocated by the
+ * executing thread. cpu time and allocations are -1 if the JVM can't measure them.
+ */
+public record Measurement<T>(T result, long wallNanos, long cpuNanos, long allocatedBytes) {
+    private static final ThreadMXBean THREADS = getThreadMXBean();
+
+    public static <T> Measurement<T> of(Supplier<T> action) {
+        long allocatedBefore = getAllocatedBytes();
+        long cpuBefore = getCpuNanos();
+        long wallBefore = System.nanoTime();
+        T result = action.get();
+        long wallNanos = System.nanoTime() - wallBefore;
+        long cpuNanos = cpuBefore < 0 ? -1 : getCpuNanos() - cpuBefore;
+        long allocatedBytes = allocatedBefore < 0 ? -1 : getAllocatedBytes() - allocatedBefore;
+        return new Measurement<>(result, wallNanos, cpuNanos, allocatedBytes);
+    }
+
+    private static long getCpuNanos() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long getAllocatedBytes() {
+        return THREADS.isThreadAllocatedMemorySupported() ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    private static ThreadMXBean getThreadMXBean() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (threads.isCurrentThreadCpuTimeSupported()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        if (threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        return threads;
+    }
+}
@@ -0,0 +1,101 @@
+package de.habermehl.aventofcode.aoc2023.runner;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * machine-readable report of the measured wall time, cpu time and allocated bytes per day and phase
+ */
+public final class MetricsReport {
+    private MetricsReport() {
+        // nothing to initialize
+    }
+
+    public static void write(String format, List<DayResult> results, long elapsedNanos, Appendable out) throws IOException {
+        switch (format.toLowerCase(Locale.ROOT)) {
+            case "json" -> writeJson(results, elapsedNanos, out);
+            case "csv" -> writeCsv(results, out);
+            default -> throw new IllegalArgumentException("unknown report format: " + format);
+        }
+    }
+
+    static void writeJson(List<DayResult> results, long elapsedNanos, Appendable out) throws IOException {
+        out.append("{\"timestamp\":\"").append(Instant.now().toString())
+                .append("\",\"elapsedNanos\":").append(Long.toString(elapsedNanos))
+                .append(",\"days\":[");
+        for (int i = 0; i < results.size(); i++) {
+            DayResult result = results.get(i);
+            out.append(i == 0 ? "" : ",").append("{\"day\":").append(Integer.toString(result.day()));
+            if (result.cached()) {
+                out.append(",\"cached\":true");
+            }
+            if (result.error() != null) {
+                out.append(",\"error\":").append(quote(String.valueOf(result.error())));
+            } else {
+                out.append(",\"phases\":[");
+                appendJsonPhase("parse", null, result.parse(), out);
+                out.append(',');
+                appendJsonPhase("part1", result.part1().result(), result.part1(), out);
+                out.append(',');
+                appendJsonPhase("part2", result.part2().result(), result.part2(), out);
+                out.append(']');
+            }
+            out.append('}');
+        }
+        out.append("]}").append(System.lineSeparator());
+    }
+
+    private static void appendJsonPhase(String phase, Object answer, Measurement<?> measurement, Appendable out) throws IOException {
+        out.append("{\"phase\":\"").append(phase).append('"');
+        if (answer != null) {
+            out.append(",\"answer\":").append(quote(answer.toString()));
+        }
+        out.append(",\"wallNanos\":").append(Long.toString(measurement.wallNanos()))
+                .append(",\"cpuNanos\":").append(Long.toString(measurement.cpuNanos()))
+                .append(",\"allocatedBytes\":").append(Long.toString(measurement.allocatedBytes()))
+                .append('}');
+    }
+
+    static void writeCsv(List<DayResult> results, Appendable out) throws IOException {
+        out.append("day,phase,answer,wall_nanos,cpu_nanos,allocated_bytes").append(System.lineSeparator());
+        for (DayResult result : results) {
+            if (result.error() != null) {
+                continue;
+            }
+            for (Map.Entry<String, Measurement<?>> phase : List.of(
+                    Map.<String, Measurement<?>>entry("parse", result.parse()),
+                    Map.<String, Measurement<?>>entry("part1", result.part1()),
+                    Map.<String, Measurement<?>>entry("part2", result.part2()))) {
+                Measurement<?> measurement = phase.getValue();
+                String answer = "parse".equals(phase.getKey()) ? "" : String.valueOf(measurement.result());
+                out.append(String.join(",", Integer.toString(result.day()), phase.getKey(), answer,
+                        Long.toString(measurement.wallNanos()), Long.toString(measurement.cpuNanos()), Long.toString(measurement.allocatedBytes())));
+                out.append(System.lineSeparator());
+            }
+        }
+    }
+
+    static String quote(String text) {
+        StringBuilder result = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            switch (c) {
+                case '"' -> result.append("\\\"");
+                case '\\' -> result.append("\\\\");
+                case '\n' -> result.append("\\n");
+                case '\r' -> result.append("\\r");
+                case '\t' -> result.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        result.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        result.append(c);
+                    }
+                }
+            }
+        }
+        return result.append('"').toString();
+    }
+}
@@ -0,0 +1,40 @@
+package de.habermehl.aventofcode.aoc2023.runner;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.stream.Stream;
+
+import de.habermehl.aventofcode.aoc2023.Answers;
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.SolverFactory;
+
+/**
+ * a day registered as {@link SolverFactory} service, its solver class is loaded once it is parsed
+ */
+public record PuzzleDay(int number, SolverFactory factory) {
+    public static List<PuzzleDay> discover() {
+        return ServiceLoader.load(SolverFactory.class).stream()
+                .map(ServiceLoader.Provider::get)
+                .map(factory -> new PuzzleDay(factory.day(), factory))
+                .sorted(Comparator.comparingInt(PuzzleDay::number))
+                .toList();
+    }
+
+    public Class<? extends Solver> type() {
+        return factory.type();
+    }
+
+    public String inputResource() {
+        return factory.inputResource();
+    }
+
+    public Solver parse(List<String> inputLines) {
+        return factory.create(inputLines);
+    }
+
+    public Optional<Answers> solveSinglePass(Stream<String> inputLines) {
+        return factory.solveSinglePass(inputLines);
+    }
+}
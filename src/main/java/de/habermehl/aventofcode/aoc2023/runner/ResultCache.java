@@ -0,0 +1,157 @@
+package de.habermehl.aventofcode.aoc2023.runner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+
+/**
+ * answers of already solved inputs stored on disk. the key is the SHA-256 of the input lines combined with the
+ * SHA-256 of the bytecode of all solver classes, i.e. the days and the code they share like DenseGrid or the graph
+ * package, so changing any of them invalidates the entries. the solver classes are expected next to the runner and
+ * are hashed once per cache.
+ */
+public final class ResultCache {
+    private static final String PART1 = "part1";
+    private static final String PART2 = "part2";
+    private static final String SOLVER_PACKAGE = "de/habermehl/aventofcode/aoc2023/";
+    private static final List<String> EXCLUDED_PACKAGES = List.of(SOLVER_PACKAGE + "runner/", SOLVER_PACKAGE + "generator/");
+
+    private final Path directory;
+    // the same for all days, computed when the first entry is read or written
+    private final Supplier<String> solverVersion = Suppliers.memoize(() -> getSolverVersion(ResultCache.class));
+
+    public ResultCache(Path directory) {
+        this.directory = directory;
+    }
+
+    public Optional<CachedAnswers> get(PuzzleDay day, List<String> inputLines) {
+        Properties answers = new Properties();
+        try (Reader reader = Files.newBufferedReader(getFile(day, inputLines), StandardCharsets.UTF_8)) {
+            answers.load(reader);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String part1 = answers.getProperty(PART1);
+        String part2 = answers.getProperty(PART2);
+        return part1 == null || part2 == null ? Optional.empty() : Optional.of(new CachedAnswers(part1, part2));
+    }
+
+    public void put(PuzzleDay day, List<String> inputLines, Object part1, Object part2) {
+        Properties answers = new Properties();
+        answers.setProperty(PART1, String.valueOf(part1));
+        answers.setProperty(PART2, String.valueOf(part2));
+        try {
+            Path file = getFile(day, inputLines);
+            Files.createDirectories(directory);
+            Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                answers.store(writer, day.type().getName());
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path getFile(PuzzleDay day, List<String> inputLines) {
+        return directory.resolve(String.format("day%02d-%s-%s.properties", day.number(), getInputHash(inputLines), solverVersion.get()));
+    }
+
+    static String getInputHash(List<String> inputLines) {
+        MessageDigest digest = createDigest();
+        for (String inputLine : inputLines) {
+            digest.update(inputLine.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String getSolverVersion(Class<?> type) {
+        MessageDigest digest = createDigest();
+        for (String resource : getSolverClassResources(type)) {
+            try (InputStream bytecode = type.getResourceAsStream("/" + resource)) {
+                if (bytecode == null) {
+                    throw new IllegalStateException("bytecode of " + resource + " not found");
+                }
+                digest.update(resource.getBytes(StandardCharsets.UTF_8));
+                digest.update(bytecode.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 8);
+    }
+
+    /**
+     * @return the sorted resource names of all classes in the solver package and its subpackages, besides the
+     *         runner and the generators, within the directory or jar the given class was loaded from
+     */
+    static List<String> getSolverClassResources(Class<?> type) {
+        CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+        if (codeSource == null) {
+            throw new IllegalStateException("location of " + type.getName() + " unknown");
+        }
+        List<String> resources;
+        try {
+            Path location = Path.of(codeSource.getLocation().toURI());
+            if (Files.isDirectory(location)) {
+                try (Stream<Path> files = Files.walk(location.resolve(SOLVER_PACKAGE))) {
+                    resources = files.filter(Files::isRegularFile)
+                            .map(file -> location.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/"))
+                            .toList();
+                }
+            } else {
+                try (JarFile jar = new JarFile(location.toFile())) {
+                    resources = Collections.list(jar.entries()).stream()
+                            .map(JarEntry::getName)
+                            .filter(name -> name.startsWith(SOLVER_PACKAGE))
+                            .toList();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("invalid location of " + type.getName(), e);
+        }
+        return resources.stream()
+                .filter(resource -> resource.endsWith(".class"))
+                .filter(resource -> EXCLUDED_PACKAGES.stream().noneMatch(resource::startsWith))
+                .sorted()
+                .toList();
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record CachedAnswers(String part1, String part2) {
+    }
+}
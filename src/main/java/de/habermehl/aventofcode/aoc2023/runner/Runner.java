@@ -0,0 +1,199 @@
+package de.habermehl.aventofcode.aoc2023.runner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import de.habermehl.aventofcode.aoc2023.Answers;
+import de.habermehl.aventofcode.aoc2023.HotLoopCounters;
+import de.habermehl.aventofcode.aoc2023.PhaseEvent;
+import de.habermehl.aventofcode.aoc2023.Solver;
+import de.habermehl.aventofcode.aoc2023.Utils;
+
+/**
+ * solves all days (or only the given day numbers) concurrently and reports the time needed per day:
+ * <pre>Runner [--parallelism=N] [--input-dir=directory] [--cache=directory] [--report=json|csv [--report-file=path]] [--watch] [--warm=N] [--single-pass] [day...]</pre>
+ * the inputs are read from the classpath or from directory/aoc2023/dayNN/input. with a cache directory the answers
+ * of already solved inputs are taken from there instead of solving them again. with --watch the runner keeps running
+ * afterwards and solves a day again whenever its input changes. --warm=N compares cold and steady-state timings
+ * instead, each day in a JVM of its own, see {@link WarmupMeasurement}. with --single-pass the days supporting it
+ * are solved once more while their input is read line by line, a day fails if those answers differ.
+ */
+public final class Runner {
+    private Runner() {
+        // nothing to initialize
+    }
+
+    public static void main(String... args) throws IOException {
+        RunnerOptions options = RunnerOptions.parse(args);
+        HotLoopCounters.register();
+        List<PuzzleDay> days = PuzzleDay.discover().stream()
+                .filter(options::includes)
+                .toList();
+        String inputDirectoryOption = options.values().get("input-dir");
+        Path inputDirectory = inputDirectoryOption == null ? null : Path.of(inputDirectoryOption);
+        if (options.values().containsKey("warm")) {
+            List<WarmupMeasurement> measurements = WarmupMeasurement.measureAll(days, inputDirectory, options.getInt("warm", 0));
+            if ("line".equals(options.values().get("warm-output"))) {
+                WarmupMeasurement.printLines(measurements);
+            } else {
+                WarmupMeasurement.printResults(measurements);
+            }
+            return;
+        }
+        String cacheDirectory = options.values().get("cache");
+        ResultCache cache = cacheDirectory == null ? null : new ResultCache(Path.of(cacheDirectory));
+        ForkJoinPool pool = new ForkJoinPool(options.getInt("parallelism", Runtime.getRuntime().availableProcessors()));
+        try {
+            long start = System.nanoTime();
+            List<DayResult> solved = solveAll(days, pool, inputDirectory, cache);
+            long elapsedNanos = System.nanoTime() - start;
+            List<DayResult> results = !options.values().containsKey("single-pass") ? solved : IntStream.range(0, days.size())
+                    .mapToObj(i -> checkSinglePass(days.get(i), inputDirectory, solved.get(i)))
+                    .toList();
+            printResults(results, elapsedNanos);
+            writeReport(options, results, elapsedNanos);
+        } finally {
+            pool.shutdown();
+        }
+        if (options.values().containsKey("watch")) {
+            new InputWatcher(days, inputDirectory, cache).watch();
+        }
+    }
+
+    static List<DayResult> solveAll(List<PuzzleDay> days, ForkJoinPool pool, Path inputDirectory, ResultCache cache) {
+        List<CompletableFuture<DayResult>> futures = days.stream()
+                .map(day -> CompletableFuture.supplyAsync(() -> solve(day, inputDirectory, cache), pool))
+                .toList();
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    /**
+     * @param inputDirectory the directory to read the input from, or null for the classpath
+     * @param cache the cache to take known answers from and to store new answers in, or null
+     */
+    static DayResult solve(PuzzleDay day, Path inputDirectory, ResultCache cache) {
+        List<String> inputLines;
+        try {
+            inputLines = getInputLines(day, inputDirectory);
+        } catch (IOException e) {
+            return DayResult.failed(day.number(), new UncheckedIOException(e));
+        }
+        return solve(day, inputLines, cache);
+    }
+
+    static List<String> getInputLines(PuzzleDay day, Path inputDirectory) throws IOException {
+        return inputDirectory == null ? Utils.getInput(day.inputResource()) : Files.readAllLines(getInputFile(day, inputDirectory));
+    }
+
+    static DayResult solve(PuzzleDay day, List<String> inputLines, ResultCache cache) {
+        try {
+            if (cache != null) {
+                Measurement<Optional<ResultCache.CachedAnswers>> lookup = Measurement.of(() -> cache.get(day, inputLines));
+                if (lookup.result().isPresent()) {
+                    ResultCache.CachedAnswers answers = lookup.result().get();
+                    return new DayResult(day.number(), lookup, Measurement.of(answers::part1), Measurement.of(answers::part2), null, true);
+                }
+            }
+            Measurement<Solver> parse = measure(day, "parse", inputLines.size(), () -> day.parse(inputLines));
+            Solver solver = parse.result();
+            Measurement<Long> part1 = measure(day, "part1", inputLines.size(), solver::getPart1);
+            Measurement<Long> part2 = measure(day, "part2", inputLines.size(), solver::getPart2);
+            if (cache != null) {
+                cache.put(day, inputLines, part1.result(), part2.result());
+            }
+            return new DayResult(day.number(), parse, part1, part2, null, false);
+        } catch (RuntimeException e) {
+            return DayResult.failed(day.number(), e);
+        }
+    }
+
+    /**
+     * solves the day once more within a single pass over its input, which is read while it is solved
+     *
+     * @return the given result, or a failed one if the single pass answers differ from it
+     */
+    static DayResult checkSinglePass(PuzzleDay day, Path inputDirectory, DayResult result) {
+        if (result.error() != null) {
+            return result;
+        }
+        try (Stream<String> inputLines = inputDirectory == null
+                ? Utils.streamInput(day.inputResource())
+                : Files.lines(getInputFile(day, inputDirectory))) {
+            // the amount of lines is unknown until they have been read
+            Measurement<Optional<Answers>> singlePass = measure(day, "single pass", -1, () -> day.solveSinglePass(inputLines));
+            if (singlePass.result().isEmpty()) {
+                return result;
+            }
+            Answers answers = singlePass.result().get();
+            if (!String.valueOf(answers.part1()).equals(String.valueOf(result.part1().result()))
+                    || !String.valueOf(answers.part2()).equals(String.valueOf(result.part2().result()))) {
+                return DayResult.failed(day.number(), new IllegalStateException("single pass answers " + answers.part1() + " / "
+                        + answers.part2() + " differ from " + result.part1().result() + " / " + result.part2().result()));
+            }
+            System.out.printf("%-5d single pass: %.3f ms%n", day.number(), toMillis(singlePass.wallNanos()));
+            return result;
+        } catch (IOException e) {
+            return DayResult.failed(day.number(), new UncheckedIOException(e));
+        } catch (RuntimeException e) {
+            return DayResult.failed(day.number(), e);
+        }
+    }
+
+    private static <T> Measurement<T> measure(PuzzleDay day, String phase, int inputSize, Supplier<T> action) {
+        PhaseEvent event = PhaseEvent.start(day.number(), phase, inputSize);
+        Measurement<T> result = Measurement.of(action);
+        event.commit();
+        return result;
+    }
+
+    static Path getInputFile(PuzzleDay day, Path inputDirectory) {
+        return inputDirectory.resolve(day.inputResource());
+    }
+
+    static void printResults(List<DayResult> results, long elapsedNanos) {
+        System.out.printf("%-5s %20s %20s %12s %12s %12s %14s%n", "day", "part1", "part2", "parse [ms]", "part1 [ms]", "part2 [ms]", "allocated [MB]");
+        for (DayResult result : results) {
+            if (result.error() != null) {
+                System.out.printf("%-5d failed: %s%n", result.day(), result.error());
+                continue;
+            }
+            long allocatedBytes = result.parse().allocatedBytes() + result.part1().allocatedBytes() + result.part2().allocatedBytes();
+            System.out.printf("%-5d %20s %20s %12.3f %12.3f %12.3f %14.1f%s%n", result.day(), result.part1().result(), result.part2().result(),
+                    toMillis(result.parse().wallNanos()), toMillis(result.part1().wallNanos()), toMillis(result.part2().wallNanos()),
+                    allocatedBytes / (1024.0 * 1024.0), result.cached() ? " (cached)" : "");
+        }
+        System.out.printf("total elapsed: %.3f ms%n", toMillis(elapsedNanos));
+    }
+
+    private static void writeReport(RunnerOptions options, List<DayResult> results, long elapsedNanos) throws IOException {
+        String format = options.values().get("report");
+        if (format == null) {
+            return;
+        }
+        String reportFile = options.values().get("report-file");
+        if (reportFile == null) {
+            MetricsReport.write(format, results, elapsedNanos, System.out);
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(Path.of(reportFile))) {
+            MetricsReport.write(format, results, elapsedNanos, writer);
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
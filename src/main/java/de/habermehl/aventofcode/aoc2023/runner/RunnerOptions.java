@@ -0,0 +1,48 @@
+package de.habermehl.aventofcode.aoc2023.runner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * command line arguments of the form --name=value (or --name for flags), all other arguments are day numbers
+ */
+public record RunnerOptions(Map<String, String> values, List<Integer> days) {
+    public static RunnerOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        List<Integer> days = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                int separator = arg.indexOf('=');
+                if (separator < 0) {
+                    values.put(arg.substring(2), "true");
+                } else {
+                    values.put(arg.substring(2, separator), arg.substring(separator + 1));
+                }
+            } else {
+                days.add(Integer.valueOf(arg));
+            }
+        }
+        return new RunnerOptions(values, days);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the option is given without a number, e.g. as --name N
+     */
+    public int getInt(String name, int defaultValue) {
+        String value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " needs a number: --" + name + "=N", e);
+        }
+    }
+
+    public boolean includes(PuzzleDay day) {
+        return days.isEmpty() || days.contains(day.number());
+    }
+}
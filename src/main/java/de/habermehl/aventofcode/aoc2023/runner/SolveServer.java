@@ -0,0 +1,104 @@
+package de.habermehl.aventofcode.aoc2023.runner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import de.habermehl.aventofcode.aoc2023.HotLoopCounters;
+
+/**
+ * keeps the solvers warm in one JVM and solves inputs posted to http://localhost:port/solve/{day}:
+ * <pre>SolveServer [--port=8080] [--parallelism=N] [--cache=directory] [--warmup=N]</pre>
+ * the response is the json report of {@link MetricsReport} for that day (csv with ?format=csv). with
+ * --warmup every day solves its classpath input N times before the server starts.
+ */
+public final class SolveServer {
+    private static final String SOLVE_PATH = "/solve/";
+
+    private final Map<Integer, PuzzleDay> days;
+    private final ResultCache cache;
+
+    SolveServer(List<PuzzleDay> days, ResultCache cache) {
+        this.days = days.stream().collect(Collectors.toMap(PuzzleDay::number, Function.identity()));
+        this.cache = cache;
+    }
+
+    public static void main(String... args) throws IOException {
+        RunnerOptions options = RunnerOptions.parse(args);
+        HotLoopCounters.register();
+        String cacheDirectory = options.values().get("cache");
+        SolveServer solveServer = new SolveServer(PuzzleDay.discover(), cacheDirectory == null ? null : new ResultCache(Path.of(cacheDirectory)));
+        solveServer.warmUp(options.getInt("warmup", 0));
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), options.getInt("port", 8080)), 0);
+        ExecutorService executor = Executors.newFixedThreadPool(options.getInt("parallelism", Runtime.getRuntime().availableProcessors()));
+        server.setExecutor(executor);
+        server.createContext(SOLVE_PATH, solveServer::handle);
+        server.start();
+        System.out.printf("listening on http://%s:%d%s{day}%n", server.getAddress().getHostString(), server.getAddress().getPort(), SOLVE_PATH);
+    }
+
+    void warmUp(int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            for (PuzzleDay day : days.values()) {
+                DayResult result = Runner.solve(day, (Path) null, null);
+                if (result.error() != null) {
+                    System.out.printf("warm-up of day %d failed: %s%n", day.number(), result.error());
+                }
+            }
+        }
+    }
+
+    void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                send(exchange, 405, "only POST is supported");
+                return;
+            }
+            URI uri = exchange.getRequestURI();
+            PuzzleDay day;
+            try {
+                day = days.get(Integer.valueOf(uri.getPath().substring(SOLVE_PATH.length())));
+            } catch (NumberFormatException e) {
+                day = null;
+            }
+            if (day == null) {
+                send(exchange, 404, "unknown day: " + uri.getPath());
+                return;
+            }
+            String format = "format=csv".equals(uri.getQuery()) ? "csv" : "json";
+            List<String> inputLines = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+
+            long start = System.nanoTime();
+            DayResult result = Runner.solve(day, inputLines, cache);
+            long elapsedNanos = System.nanoTime() - start;
+            StringWriter report = new StringWriter();
+            MetricsReport.write(format, List.of(result), elapsedNanos, report);
+            exchange.getResponseHeaders().set("Content-Type", "csv".equals(format) ? "text/csv" : "application/json");
+            send(exchange, result.error() == null ? 200 : 422, report.toString());
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package de.habermehl.aventofcode.aoc2023.runner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import de.habermehl.aventofcode.aoc2023.Solver;
+
+/**
+ * solves a day once in a cold JVM and then the given amount of times more against the same parsed input. a JVM
+ * that already solved another day has compiled the shared code (grids, scanners, graphs, collections) as well, so
+ * with more than one day each day is measured in a JVM of its own, started with the same classpath and JVM
+ * arguments, which reports its measurement back as one line. the JIT times are -1 if the JVM doesn't monitor
+ * compilation time.
+ */
+record WarmupMeasurement(int day, long parseNanos, Timings part1, Timings part2, long coldJitMillis, long warmJitMillis,
+                         Throwable error) {
+    private static final CompilationMXBean COMPILATION = ManagementFactory.getCompilationMXBean();
+
+    static List<WarmupMeasurement> measureAll(List<PuzzleDay> days, Path inputDirectory, int repetitions) {
+        if (days.size() == 1) {
+            return List.of(measure(days.get(0), inputDirectory, repetitions));
+        }
+        return days.stream()
+                .map(day -> measureForked(day, inputDirectory, repetitions))
+                .toList();
+    }
+
+    private static WarmupMeasurement measureForked(PuzzleDay day, Path inputDirectory, int repetitions) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(argument -> !argument.startsWith("-agentlib:jdwp"))
+                .forEach(command::add);
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), Runner.class.getName(), "--warm=" + repetitions,
+                "--warm-output=line"));
+        if (inputDirectory != null) {
+            command.add("--input-dir=" + inputDirectory);
+        }
+        command.add(String.valueOf(day.number()));
+        try {
+            Process process = new ProcessBuilder(command)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            List<String> output;
+            try (BufferedReader reader = process.inputReader()) {
+                output = reader.lines().toList();
+            }
+            int exitCode = process.waitFor();
+            if (exitCode != 0 || output.size() != 1) {
+                return failed(day, new IllegalStateException("forked JVM exited with code " + exitCode + " and printed " + output));
+            }
+            return parseLine(output.get(0));
+        } catch (IOException e) {
+            return failed(day, new UncheckedIOException(e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed(day, e);
+        }
+    }
+
+    static WarmupMeasurement measure(PuzzleDay day, Path inputDirectory, int repetitions) {
+        try {
+            List<String> inputLines = Runner.getInputLines(day, inputDirectory);
+            long jitBefore = getJitMillis();
+            long parseStart = System.nanoTime();
+            Solver solver = day.parse(inputLines);
+            long parseNanos = System.nanoTime() - parseStart;
+            long[] part1 = new long[repetitions + 1];
+            long[] part2 = new long[repetitions + 1];
+            part1[0] = measure(solver::getPart1);
+            part2[0] = measure(solver::getPart2);
+            long jitAfterColdRun = getJitMillis();
+            for (int i = 1; i <= repetitions; i++) {
+                part1[i] = measure(solver::getPart1);
+                part2[i] = measure(solver::getPart2);
+            }
+            long jitAfterWarmRuns = getJitMillis();
+            return new WarmupMeasurement(day.number(), parseNanos, Timings.of(part1), Timings.of(part2),
+                    jitBefore < 0 ? -1 : jitAfterColdRun - jitBefore, jitBefore < 0 ? -1 : jitAfterWarmRuns - jitAfterColdRun, null);
+        } catch (IOException e) {
+            return failed(day, new UncheckedIOException(e));
+        } catch (RuntimeException e) {
+            return failed(day, e);
+        }
+    }
+
+    private static WarmupMeasurement failed(PuzzleDay day, Throwable error) {
+        return new WarmupMeasurement(day.number(), 0, null, null, 0, 0, error);
+    }
+
+    private static long measure(LongSupplier part) {
+        long start = System.nanoTime();
+        part.getAsLong();
+        return System.nanoTime() - start;
+    }
+
+    private static long getJitMillis() {
+        return COMPILATION != null && COMPILATION.isCompilationTimeMonitoringSupported() ? COMPILATION.getTotalCompilationTime() : -1;
+    }
+
+    static void printResults(List<WarmupMeasurement> results) {
+        System.out.printf("%-5s %12s %12s %12s %12s %12s %12s %12s %12s %12s%n", "day", "parse [ms]", "part1 cold", "median", "p99",
+                "part2 cold", "median", "p99", "jit cold", "jit warm");
+        for (WarmupMeasurement result : results) {
+            if (result.error() != null) {
+                System.out.printf("%-5d failed: %s%n", result.day(), result.error());
+                continue;
+            }
+            System.out.printf("%-5d %12.3f %12.3f %12.3f %12.3f %12.3f %12.3f %12.3f %12d %12d%n", result.day(), toMillis(result.parseNanos()),
+                    toMillis(result.part1().coldNanos()), toMillis(result.part1().medianNanos()), toMillis(result.part1().p99Nanos()),
+                    toMillis(result.part2().coldNanos()), toMillis(result.part2().medianNanos()), toMillis(result.part2().p99Nanos()),
+                    result.coldJitMillis(), result.warmJitMillis());
+        }
+    }
+
+    /**
+     * prints the measurements as tab separated lines for the JVM that forked this one
+     */
+    static void printLines(List<WarmupMeasurement> results) {
+        for (WarmupMeasurement result : results) {
+            if (result.error() != null) {
+                System.out.println(result.day() + "\tfailed\t" + result.error().toString().replace('\n', ' '));
+                continue;
+            }
+            System.out.println(LongStream.of(result.day(), result.parseNanos(), result.part1().coldNanos(), result.part1().medianNanos(),
+                            result.part1().p99Nanos(), result.part2().coldNanos(), result.part2().medianNanos(), result.part2().p99Nanos(),
+                            result.coldJitMillis(), result.warmJitMillis())
+                    .mapToObj(String::valueOf)
+                    .collect(Collectors.joining("\t")));
+        }
+    }
+
+    static WarmupMeasurement parseLine(String line) {
+        String[] fields = line.split("\t", 3);
+        int day = Integer.parseInt(fields[0]);
+        if (fields[1].equals("failed")) {
+            return new WarmupMeasurement(day, 0, null, null, 0, 0, new IllegalStateException(fields[2]));
+        }
+        long[] values = Arrays.stream(line.split("\t")).mapToLong(Long::parseLong).toArray();
+        return new WarmupMeasurement(day, values[1], new Timings(values[2], values[3], values[4]),
+                new Timings(values[5], values[6], values[7]), values[8], values[9], null);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * the first run and the median and 99th percentile (nearest rank) of the following runs, which are the
+     * first run as well if there are no following runs
+     */
+    record Timings(long coldNanos, long medianNanos, long p99Nanos) {
+        static Timings of(long[] runNanos) {
+            long[] warmRuns = runNanos.length == 1 ? runNanos.clone() : Arrays.copyOfRange(runNanos, 1, runNanos.length);
+            Arrays.sort(warmRuns);
+            return new Timings(runNanos[0], warmRuns[(warmRuns.length - 1) / 2], warmRuns[(int) Math.ceil(warmRuns.length * 0.99) - 1]);
+        }
+    }
+}